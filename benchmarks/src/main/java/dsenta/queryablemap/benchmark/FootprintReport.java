@@ -0,0 +1,178 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.benchmark;
+
+import static java.util.Objects.isNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// Retained bytes per entry, from the live-object total of a full-GC class histogram taken before and after a map
+// is filled. Keys are created up front and a single value is shared, so only the map's own structure is counted.
+// Run with java -Xmx4g -cp target/benchmarks.jar dsenta.queryablemap.benchmark.FootprintReport [sizes...]
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FootprintReport {
+    private static final long SEED = 42;
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final Integer VALUE = 0;
+    private static final String MEASURE = "--measure";
+
+    private enum Structure {
+        WHITE_GREY_BLACK_TREE(Implementation.WHITE_GREY_BLACK_TREE),
+        TRIE(Implementation.TRIE),
+        RADIX_TRIE(Implementation.RADIX_TRIE),
+        ADAPTIVE_RADIX_TREE(Implementation.ADAPTIVE_RADIX_TREE),
+        TREE_MAP(Implementation.TREE_MAP),
+        CONCURRENT_SKIP_LIST_MAP(Implementation.CONCURRENT_SKIP_LIST_MAP),
+        HASH_MAP(null);
+
+        private final Implementation implementation;
+
+        Structure(Implementation implementation) {
+            this.implementation = implementation;
+        }
+
+        <K extends Comparable<K>> Map<K, Integer> create() {
+            return isNull(implementation) ? new HashMap<>() : implementation.create();
+        }
+    }
+
+    private enum KeyType {
+        INTEGER(Random::nextInt),
+        LONG(Random::nextLong),
+        UUID_STRING(random -> new UUID(random.nextLong(), random.nextLong()).toString());
+
+        private final Function<Random, Comparable<?>> generator;
+
+        KeyType(Function<Random, Comparable<?>> generator) {
+            this.generator = generator;
+        }
+
+        Object[] keys(int size) {
+            Random random = new Random(SEED);
+            Set<Object> keys = new LinkedHashSet<>(size * 2);
+            while (keys.size() < size) {
+                keys.add(generator.apply(random));
+            }
+            return keys.toArray();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, JMException {
+        if (args.length == 4 && MEASURE.equals(args[0])) {
+            measure(Structure.valueOf(args[1]), KeyType.valueOf(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+
+        int[] sizes = args.length == 0 ? SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+
+        System.out.printf("%s %s, -Xmx%dm, UseCompressedOops=%s%n%n",
+                System.getProperty("java.vm.name"),
+                System.getProperty("java.version"),
+                Runtime.getRuntime().maxMemory() >> 20,
+                hotSpot.getVMOption("UseCompressedOops").getValue());
+        System.out.println("| Key type | Entries | " + Arrays.stream(Structure.values())
+                .map(Structure::name)
+                .collect(Collectors.joining(" | ")) + " |");
+        System.out.println("|---|---:|" + "---:|".repeat(Structure.values().length));
+
+        for (KeyType keyType : KeyType.values()) {
+            for (int size : sizes) {
+                StringBuilder row = new StringBuilder("| " + keyType + " | " + size + " |");
+                for (Structure structure : Structure.values()) {
+                    row.append(' ').append(fork(structure, keyType, size)).append(" |");
+                }
+                System.out.println(row);
+            }
+        }
+    }
+
+    // Every measurement gets a fresh JVM, so nothing left over from an earlier map can skew its histograms
+    private static String fork(Structure structure, KeyType keyType, int size) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), FootprintReport.class.getName(),
+                MEASURE, structure.name(), keyType.name(), String.valueOf(size)));
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).strip();
+        return process.waitFor() == 0 ? output : "failed";
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void measure(Structure structure, KeyType keyType, int size) throws JMException {
+        Object[] keys = keyType.keys(size);
+        Map map = null;
+        try {
+            long before = liveBytes();
+            map = structure.create();
+            for (Object key : keys) {
+                map.put(key, VALUE);
+            }
+            long after = liveBytes();
+            System.out.printf("%.1f%n", (double) (after - before) / size);
+        } catch (OutOfMemoryError e) {
+            map = null;
+            System.out.println("OOM");
+        } finally {
+            Reference.reachabilityFence(map);
+            Reference.reachabilityFence(keys);
+        }
+    }
+
+    // GC.class_histogram runs a full GC first, so its total only covers live objects
+    private static long liveBytes() throws JMException {
+        String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram",
+                new Object[]{new String[0]},
+                new String[]{String[].class.getName()});
+        String[] total = histogram.strip().substring(histogram.strip().lastIndexOf('\n') + 1).trim().split("\\s+");
+        return Long.parseLong(total[2]);
+    }
+}
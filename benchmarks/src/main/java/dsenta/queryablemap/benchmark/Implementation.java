@@ -0,0 +1,80 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.benchmark;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import dsenta.queryablemap.art.AdaptiveRadixTree;
+import dsenta.queryablemap.radix.RadixTrie;
+import dsenta.queryablemap.trie.Trie;
+import dsenta.queryablemap.wgb.WhiteGreyBlackTree;
+
+public enum Implementation {
+    WHITE_GREY_BLACK_TREE {
+        @Override
+        public <K extends Comparable<K>> NavigableMap<K, Integer> create() {
+            return new WhiteGreyBlackTree<>();
+        }
+    },
+    WHITE_GREY_BLACK_TREE_COPY_ON_WRITE {
+        @Override
+        public <K extends Comparable<K>> NavigableMap<K, Integer> create() {
+            return new WhiteGreyBlackTree<>(WhiteGreyBlackTree.ConcurrencyMode.COPY_ON_WRITE);
+        }
+    },
+    TRIE {
+        @Override
+        public <K extends Comparable<K>> NavigableMap<K, Integer> create() {
+            return new Trie<>();
+        }
+    },
+    RADIX_TRIE {
+        @Override
+        public <K extends Comparable<K>> NavigableMap<K, Integer> create() {
+            return new RadixTrie<>();
+        }
+    },
+    ADAPTIVE_RADIX_TREE {
+        @Override
+        public <K extends Comparable<K>> NavigableMap<K, Integer> create() {
+            return new AdaptiveRadixTree<>();
+        }
+    },
+    TREE_MAP {
+        @Override
+        public <K extends Comparable<K>> NavigableMap<K, Integer> create() {
+            return new TreeMap<>();
+        }
+    },
+    CONCURRENT_SKIP_LIST_MAP {
+        @Override
+        public <K extends Comparable<K>> NavigableMap<K, Integer> create() {
+            return new ConcurrentSkipListMap<>();
+        }
+    };
+
+    public abstract <K extends Comparable<K>> NavigableMap<K, Integer> create();
+}
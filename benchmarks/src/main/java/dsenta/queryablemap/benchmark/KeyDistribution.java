@@ -0,0 +1,64 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public enum KeyDistribution {
+    // Keys arrive in ascending order, the best case for bulk-built and append-friendly layouts
+    SEQUENTIAL {
+        @Override
+        public Integer[] keys(int size, Random random) {
+            return IntStream.range(0, size).map(i -> i * 2).boxed().toArray(Integer[]::new);
+        }
+    },
+    SHUFFLED {
+        @Override
+        public Integer[] keys(int size, Random random) {
+            List<Integer> keys = IntStream.range(0, size).map(i -> i * 2).boxed().collect(Collectors.toList());
+            Collections.shuffle(keys, random);
+            return keys.toArray(Integer[]::new);
+        }
+    },
+    // Uniform over the whole int range, so hashes and string forms vary in length and sign
+    SPARSE {
+        @Override
+        public Integer[] keys(int size, Random random) {
+            Set<Integer> keys = new LinkedHashSet<>(size * 2);
+            while (keys.size() < size) {
+                keys.add(random.nextInt());
+            }
+            return keys.toArray(Integer[]::new);
+        }
+    };
+
+    // Distinct keys in insertion order
+    public abstract Integer[] keys(int size, Random random);
+}
@@ -0,0 +1,53 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.benchmark;
+
+import java.util.NavigableMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoadBenchmark extends MapState {
+
+    @Benchmark
+    public NavigableMap<Integer, Integer> fill() {
+        NavigableMap<Integer, Integer> loaded = implementation.create();
+        for (Integer key : keys) {
+            loaded.put(key, key);
+        }
+        return loaded;
+    }
+
+    // Subtract fill to get the cost of removing every key
+    @Benchmark
+    public NavigableMap<Integer, Integer> fillAndDrain() {
+        NavigableMap<Integer, Integer> loaded = fill();
+        for (Integer key : keys) {
+            loaded.remove(key);
+        }
+        return loaded;
+    }
+}
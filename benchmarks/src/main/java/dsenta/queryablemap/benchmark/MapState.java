@@ -0,0 +1,104 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class MapState {
+    protected static final long SEED = 42;
+
+    @Param
+    public Implementation implementation;
+
+    @Param
+    public KeyDistribution distribution;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    protected NavigableMap<Integer, Integer> map;
+    // Keys in insertion order
+    protected Integer[] keys;
+    private Integer[] lookups;
+    private Integer[] missing;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        keys = distribution.keys(size, random);
+        map = implementation.create();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+
+        // Boxed once up front, so the benchmarks measure the map rather than Integer.valueOf
+        lookups = keys.clone();
+        Collections.shuffle(Arrays.asList(lookups), random);
+        missing = Arrays.stream(lookups)
+                .map(key -> key + 1)
+                .filter(key -> !map.containsKey(key))
+                .toArray(Integer[]::new);
+
+        onSetUp();
+    }
+
+    protected void onSetUp() {
+    }
+
+    protected Integer nextKey() {
+        return lookups[advance() % lookups.length];
+    }
+
+    protected Integer nextMissing() {
+        return missing[advance() % missing.length];
+    }
+
+    private int advance() {
+        next = next == Integer.MAX_VALUE ? 0 : next + 1;
+        return next;
+    }
+}
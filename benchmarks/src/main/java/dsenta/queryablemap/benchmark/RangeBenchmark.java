@@ -0,0 +1,69 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RangeBenchmark extends MapState {
+    private static final int RANKS = 1 << 12;
+
+    @Param
+    public RangeQuery query;
+
+    @Param({"true", "false"})
+    public boolean asc;
+
+    // Number of keys spanned by BETWEEN
+    @Param({"1000"})
+    public int width;
+
+    private Integer[] sorted;
+    private int[] ranks;
+    private int next;
+
+    @Override
+    protected void onSetUp() {
+        // Sorted by the map's own order, since the Trie compares the string form of its keys
+        sorted = keys.clone();
+        Arrays.sort(sorted, map.comparator());
+        ranks = new Random(SEED).ints(RANKS, 0, size).toArray();
+    }
+
+    @Benchmark
+    public List<Entry<Integer, Integer>> range() {
+        int rank = ranks[next++ & (RANKS - 1)];
+        Integer low = sorted[rank];
+        Integer high = sorted[Math.min(rank + width, size - 1)];
+        return query.run(map, low, high, asc);
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+
+import dsenta.queryablemap.QueryableMap;
+
+// QueryableMaps answer through their own range methods, the JDK maps copy the equivalent view,
+// so every implementation hands back the same materialised list
+public enum RangeQuery {
+    BIGGER_THAN {
+        @Override
+        List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return asc ? map.getBiggerThanAsc(low) : map.getBiggerThanDesc(low);
+        }
+
+        @Override
+        List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return entries(map.tailMap(low, false), asc);
+        }
+    },
+    BIGGER_THAN_EQUALS {
+        @Override
+        List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return asc ? map.getBiggerThanEqualsAsc(low) : map.getBiggerThanEqualsDesc(low);
+        }
+
+        @Override
+        List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return entries(map.tailMap(low, true), asc);
+        }
+    },
+    LESS_THAN {
+        @Override
+        List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return asc ? map.getLessThanAsc(high) : map.getLessThanDesc(high);
+        }
+
+        @Override
+        List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return entries(map.headMap(high, false), asc);
+        }
+    },
+    LESS_THAN_EQUALS {
+        @Override
+        List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return asc ? map.getLessThanEqualsAsc(high) : map.getLessThanEqualsDesc(high);
+        }
+
+        @Override
+        List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return entries(map.headMap(high, true), asc);
+        }
+    },
+    BETWEEN {
+        @Override
+        List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return asc ? map.getBetweenAsc(low, high) : map.getBetweenDesc(low, high);
+        }
+
+        @Override
+        List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return entries(map.subMap(low, true, high, true), asc);
+        }
+    },
+    NOT_EQUALS {
+        @Override
+        List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return asc ? map.getNotEqualsAsc(low) : map.getNotEqualsDesc(low);
+        }
+
+        @Override
+        List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            List<Entry<Integer, Integer>> first = entries(asc ? map.headMap(low, false) : map.tailMap(low, false), asc);
+            first.addAll((asc ? map.tailMap(low, false) : map.headMap(low, false).descendingMap()).entrySet());
+            return first;
+        }
+    },
+    ALL {
+        @Override
+        List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return asc ? map.getAsc() : map.getDesc();
+        }
+
+        @Override
+        List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+            return entries(map, asc);
+        }
+    };
+
+    abstract List<Entry<Integer, Integer>> query(QueryableMap<Integer, Integer> map, Integer low, Integer high, boolean asc);
+
+    abstract List<Entry<Integer, Integer>> copy(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc);
+
+    @SuppressWarnings("unchecked")
+    public List<Entry<Integer, Integer>> run(NavigableMap<Integer, Integer> map, Integer low, Integer high, boolean asc) {
+        if (map instanceof QueryableMap) {
+            return query((QueryableMap<Integer, Integer>) map, low, high, asc);
+        }
+        return copy(map, low, high, asc);
+    }
+
+    private static List<Entry<Integer, Integer>> entries(NavigableMap<Integer, Integer> view, boolean asc) {
+        return new ArrayList<>((asc ? view : view.descendingMap()).entrySet());
+    }
+}
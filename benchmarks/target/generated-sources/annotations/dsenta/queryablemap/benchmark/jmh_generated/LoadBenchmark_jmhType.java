@@ -0,0 +1,4 @@
+package dsenta.queryablemap.benchmark.jmh_generated;
+public class LoadBenchmark_jmhType extends LoadBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package dsenta.queryablemap.benchmark.jmh_generated;
+public class PointBenchmark_jmhType extends PointBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package dsenta.queryablemap.benchmark.jmh_generated;
+public class RangeBenchmark_jmhType extends RangeBenchmark_jmhType_B3 {
+}
+
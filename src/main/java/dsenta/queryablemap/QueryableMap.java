@@ -23,10 +23,22 @@
  */
 package dsenta.queryablemap;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public interface QueryableMap<K extends Comparable<K>, T> extends Map<K, T> {
+public interface QueryableMap<K extends Comparable<K>, T> extends NavigableMap<K, T> {
     int getNumberOfNodes();
     int getNumberOfEmptyNodes();
     int depth();
@@ -46,6 +58,318 @@ public interface QueryableMap<K extends Comparable<K>, T> extends Map<K, T> {
     List<Entry<K, T>> getNotEqualsDesc(K key);
     List<Entry<K, T>> getAsc();
     List<Entry<K, T>> getDesc();
+    Iterator<Entry<K, T>> iterate(boolean asc);
+    Iterator<Entry<K, T>> iterateBiggerThan(K key, boolean asc);
+    Iterator<Entry<K, T>> iterateBiggerThanEquals(K key, boolean asc);
+    Iterator<Entry<K, T>> iterateLessThan(K key, boolean asc);
+    Iterator<Entry<K, T>> iterateLessThanEquals(K key, boolean asc);
+    Iterator<Entry<K, T>> iterateBetween(K low, K high, boolean asc);
     K getMin();
     K getMax();
+
+    default <R> R read(Supplier<R> reader) {
+        // Implementations with locks run the reader under their read lock
+        return reader.get();
+    }
+
+    default List<Entry<K, T>> getAsc(int limit) {
+        return getAsc(0, limit);
+    }
+
+    default List<Entry<K, T>> getAsc(int offset, int limit) {
+        return read(() -> page(iterate(true), offset, limit));
+    }
+
+    default List<Entry<K, T>> getDesc(int limit) {
+        return getDesc(0, limit);
+    }
+
+    default List<Entry<K, T>> getDesc(int offset, int limit) {
+        return read(() -> page(iterate(false), offset, limit));
+    }
+
+    default List<Entry<K, T>> first(int n) {
+        return getAsc(n);
+    }
+
+    default List<Entry<K, T>> last(int n) {
+        return getDesc(n);
+    }
+
+    default Spliterator<Entry<K, T>> spliteratorBetween(K low, K high) {
+        return Spliterators.spliteratorUnknownSize(iterateBetween(low, high, true), Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    default Stream<Entry<K, T>> streamBetween(K low, K high) {
+        return StreamSupport.stream(spliteratorBetween(low, high), false);
+    }
+
+    @Override
+    default Comparator<? super K> comparator() {
+        // Natural ordering of the keys
+        return null;
+    }
+
+    @Override
+    default Entry<K, T> firstEntry() {
+        return firstOrNull(first(1).iterator());
+    }
+
+    @Override
+    default Entry<K, T> lastEntry() {
+        return firstOrNull(last(1).iterator());
+    }
+
+    @Override
+    default K firstKey() {
+        return keyOrThrow(firstEntry());
+    }
+
+    @Override
+    default K lastKey() {
+        return keyOrThrow(lastEntry());
+    }
+
+    @Override
+    default Entry<K, T> pollFirstEntry() {
+        var entry = firstEntry();
+
+        if (entry != null) {
+            remove(entry.getKey());
+        }
+
+        return entry;
+    }
+
+    @Override
+    default Entry<K, T> pollLastEntry() {
+        var entry = lastEntry();
+
+        if (entry != null) {
+            remove(entry.getKey());
+        }
+
+        return entry;
+    }
+
+    @Override
+    default Entry<K, T> lowerEntry(K key) {
+        return read(() -> firstOrNull(iterateLessThan(key, false)));
+    }
+
+    @Override
+    default K lowerKey(K key) {
+        return keyOrNull(lowerEntry(key));
+    }
+
+    @Override
+    default Entry<K, T> floorEntry(K key) {
+        return read(() -> firstOrNull(iterateLessThanEquals(key, false)));
+    }
+
+    @Override
+    default K floorKey(K key) {
+        return keyOrNull(floorEntry(key));
+    }
+
+    @Override
+    default Entry<K, T> ceilingEntry(K key) {
+        return read(() -> firstOrNull(iterateBiggerThanEquals(key, true)));
+    }
+
+    @Override
+    default K ceilingKey(K key) {
+        return keyOrNull(ceilingEntry(key));
+    }
+
+    @Override
+    default Entry<K, T> higherEntry(K key) {
+        return read(() -> firstOrNull(iterateBiggerThan(key, true)));
+    }
+
+    @Override
+    default K higherKey(K key) {
+        return keyOrNull(higherEntry(key));
+    }
+
+    // Views below are live, they copy small batches out of the map under its read lock
+
+    @Override
+    default Set<K> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    default Collection<T> values() {
+        return QueryableSubMap.of(this).values();
+    }
+
+    @Override
+    default Set<Entry<K, T>> entrySet() {
+        return QueryableSubMap.of(this).entrySet();
+    }
+
+    @Override
+    default NavigableMap<K, T> descendingMap() {
+        return QueryableSubMap.of(this).descendingMap();
+    }
+
+    @Override
+    default NavigableSet<K> navigableKeySet() {
+        return new QueryableKeySet<>(this);
+    }
+
+    @Override
+    default NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    default NavigableMap<K, T> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        return QueryableSubMap.of(this).subMap(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    default NavigableMap<K, T> headMap(K toKey, boolean inclusive) {
+        return QueryableSubMap.of(this).headMap(toKey, inclusive);
+    }
+
+    @Override
+    default NavigableMap<K, T> tailMap(K fromKey, boolean inclusive) {
+        return QueryableSubMap.of(this).tailMap(fromKey, inclusive);
+    }
+
+    @Override
+    default NavigableMap<K, T> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    default NavigableMap<K, T> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    default NavigableMap<K, T> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    default List<Entry<K, T>> getBiggerThanAsc(K key, int limit) {
+        return getBiggerThanAsc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getBiggerThanAsc(K key, int offset, int limit) {
+        return read(() -> page(iterateBiggerThan(key, true), offset, limit));
+    }
+
+    default List<Entry<K, T>> getBiggerThanDesc(K key, int limit) {
+        return getBiggerThanDesc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getBiggerThanDesc(K key, int offset, int limit) {
+        return read(() -> page(iterateBiggerThan(key, false), offset, limit));
+    }
+
+    default List<Entry<K, T>> getLessThanAsc(K key, int limit) {
+        return getLessThanAsc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getLessThanAsc(K key, int offset, int limit) {
+        return read(() -> page(iterateLessThan(key, true), offset, limit));
+    }
+
+    default List<Entry<K, T>> getLessThanDesc(K key, int limit) {
+        return getLessThanDesc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getLessThanDesc(K key, int offset, int limit) {
+        return read(() -> page(iterateLessThan(key, false), offset, limit));
+    }
+
+    default List<Entry<K, T>> getBiggerThanEqualsAsc(K key, int limit) {
+        return getBiggerThanEqualsAsc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getBiggerThanEqualsAsc(K key, int offset, int limit) {
+        return read(() -> page(iterateBiggerThanEquals(key, true), offset, limit));
+    }
+
+    default List<Entry<K, T>> getBiggerThanEqualsDesc(K key, int limit) {
+        return getBiggerThanEqualsDesc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getBiggerThanEqualsDesc(K key, int offset, int limit) {
+        return read(() -> page(iterateBiggerThanEquals(key, false), offset, limit));
+    }
+
+    default List<Entry<K, T>> getLessThanEqualsAsc(K key, int limit) {
+        return getLessThanEqualsAsc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getLessThanEqualsAsc(K key, int offset, int limit) {
+        return read(() -> page(iterateLessThanEquals(key, true), offset, limit));
+    }
+
+    default List<Entry<K, T>> getLessThanEqualsDesc(K key, int limit) {
+        return getLessThanEqualsDesc(key, 0, limit);
+    }
+
+    default List<Entry<K, T>> getLessThanEqualsDesc(K key, int offset, int limit) {
+        return read(() -> page(iterateLessThanEquals(key, false), offset, limit));
+    }
+
+    default List<Entry<K, T>> getBetweenAsc(K low, K high, int limit) {
+        return getBetweenAsc(low, high, 0, limit);
+    }
+
+    default List<Entry<K, T>> getBetweenAsc(K low, K high, int offset, int limit) {
+        return read(() -> page(iterateBetween(low, high, true), offset, limit));
+    }
+
+    default List<Entry<K, T>> getBetweenDesc(K low, K high, int limit) {
+        return getBetweenDesc(low, high, 0, limit);
+    }
+
+    default List<Entry<K, T>> getBetweenDesc(K low, K high, int offset, int limit) {
+        return read(() -> page(iterateBetween(low, high, false), offset, limit));
+    }
+
+    private static <K extends Comparable<K>, T>
+    Entry<K, T> firstOrNull(Iterator<Entry<K, T>> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static <K extends Comparable<K>, T>
+    K keyOrNull(Entry<K, T> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    private static <K extends Comparable<K>, T>
+    K keyOrThrow(Entry<K, T> entry) {
+        if (entry == null) {
+            throw new NoSuchElementException();
+        }
+
+        return entry.getKey();
+    }
+
+    private static <K extends Comparable<K>, T>
+    List<Entry<K, T>> page(Iterator<Entry<K, T>> iterator, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException(String.format("Offset %d and limit %d must not be negative", offset, limit));
+        }
+
+        // Iterators are lazy, so nothing past the page is traversed
+        for (int i = 0; i < offset && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+
+        List<Entry<K, T>> page = new ArrayList<>(Math.min(limit, 1024));
+
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+
+        return page;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,540 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+final class QueryableSubMap<K extends Comparable<K>, T> extends AbstractMap<K, T> implements NavigableMap<K, T> {
+    // Views copy this many entries at a time under the read lock of the map
+    private static final int BATCH = 256;
+    private final QueryableMap<K, T> map;
+    private final Comparator<? super K> order;
+    private final boolean fromStart;
+    private final K low;
+    private final boolean lowInclusive;
+    private final boolean toEnd;
+    private final K high;
+    private final boolean highInclusive;
+    private final boolean descending;
+
+    QueryableSubMap(QueryableMap<K, T> map,
+                    boolean fromStart, K low, boolean lowInclusive,
+                    boolean toEnd, K high, boolean highInclusive,
+                    boolean descending) {
+        this.map = map;
+        this.order = isNull(map.comparator()) ? Comparator.naturalOrder() : map.comparator();
+
+        if (!fromStart && !toEnd && order.compare(low, high) > 0) {
+            throw new IllegalArgumentException(String.format("Low key %s is bigger than high key %s", low, high));
+        }
+
+        this.fromStart = fromStart;
+        this.low = low;
+        this.lowInclusive = lowInclusive;
+        this.toEnd = toEnd;
+        this.high = high;
+        this.highInclusive = highInclusive;
+        this.descending = descending;
+    }
+
+    static <K extends Comparable<K>, T>
+    QueryableSubMap<K, T> of(QueryableMap<K, T> map) {
+        return new QueryableSubMap<>(map, true, null, false, true, null, false, false);
+    }
+
+    // Bounds are always kept in map order, descending only flips the navigation
+
+    private boolean tooLow(K key) {
+        if (fromStart) {
+            return false;
+        }
+
+        int cmp = order.compare(key, low);
+
+        return cmp < 0 || (cmp == 0 && !lowInclusive);
+    }
+
+    private boolean tooHigh(K key) {
+        if (toEnd) {
+            return false;
+        }
+
+        int cmp = order.compare(key, high);
+
+        return cmp > 0 || (cmp == 0 && !highInclusive);
+    }
+
+    private boolean inRange(K key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    private boolean inRange(K key, boolean inclusive) {
+        if (inclusive) {
+            return inRange(key);
+        }
+
+        // An exclusive bound may sit on an excluded end of this range
+        return (fromStart || order.compare(key, low) >= 0) && (toEnd || order.compare(key, high) <= 0);
+    }
+
+    private boolean isAll() {
+        return fromStart && toEnd;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean inRangeObject(Object key) {
+        return nonNull(key) && inRange((K) key);
+    }
+
+    private Entry<K, T> inRangeOrNull(Entry<K, T> entry) {
+        return isNull(entry) || !inRange(entry.getKey()) ? null : entry;
+    }
+
+    private Entry<K, T> lowest() {
+        if (fromStart) {
+            return inRangeOrNull(map.firstEntry());
+        }
+
+        return inRangeOrNull(lowInclusive ? map.ceilingEntry(low) : map.higherEntry(low));
+    }
+
+    private Entry<K, T> highest() {
+        if (toEnd) {
+            return inRangeOrNull(map.lastEntry());
+        }
+
+        return inRangeOrNull(highInclusive ? map.floorEntry(high) : map.lowerEntry(high));
+    }
+
+    private Entry<K, T> ceiling(K key) {
+        return tooLow(key) ? lowest() : inRangeOrNull(map.ceilingEntry(key));
+    }
+
+    private Entry<K, T> higher(K key) {
+        return tooLow(key) ? lowest() : inRangeOrNull(map.higherEntry(key));
+    }
+
+    private Entry<K, T> floor(K key) {
+        return tooHigh(key) ? highest() : inRangeOrNull(map.floorEntry(key));
+    }
+
+    private Entry<K, T> lower(K key) {
+        return tooHigh(key) ? highest() : inRangeOrNull(map.lowerEntry(key));
+    }
+
+    private Iterator<Entry<K, T>> entries() {
+        boolean asc = !descending;
+
+        if (isAll()) {
+            return map.iterate(asc);
+        }
+
+        Iterator<Entry<K, T>> range;
+
+        if (fromStart) {
+            range = highInclusive ? map.iterateLessThanEquals(high, asc) : map.iterateLessThan(high, asc);
+        } else if (toEnd) {
+            range = lowInclusive ? map.iterateBiggerThanEquals(low, asc) : map.iterateBiggerThan(low, asc);
+        } else {
+            // Between is inclusive on both ends
+            range = map.iterateBetween(low, high, asc);
+        }
+
+        // Every end is checked again lazily, so a map that treats some key as no bound can not leak past it
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(range, Spliterator.ORDERED), false)
+                .filter(entry -> inRange(entry.getKey()))
+                .iterator();
+    }
+
+    private QueryableSubMap<K, T> after(K key) {
+        return descending
+                ? view(fromStart, low, lowInclusive, false, key, false)
+                : view(false, key, false, toEnd, high, highInclusive);
+    }
+
+    private List<Entry<K, T>> batch() {
+        return map.read(() -> {
+            List<Entry<K, T>> batch = new ArrayList<>(BATCH);
+            var entries = entries();
+
+            while (batch.size() < BATCH && entries.hasNext()) {
+                batch.add(entries.next());
+            }
+
+            return batch;
+        });
+    }
+
+    private Iterator<Entry<K, T>> iterator() {
+        return new Iterator<>() {
+            private Iterator<Entry<K, T>> entries = Collections.emptyIterator();
+            private boolean more = true;
+            private K lastKey;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                if (!entries.hasNext() && more) {
+                    // Every batch starts past the last returned key, so writers in between can not reorder it
+                    var next = isNull(lastKey) ? batch() : after(lastKey).batch();
+                    more = next.size() == BATCH;
+                    entries = next.iterator();
+                }
+
+                return entries.hasNext();
+            }
+
+            @Override
+            public Entry<K, T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                var entry = entries.next();
+                lastKey = entry.getKey();
+                removable = true;
+
+                return entry;
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) {
+                    throw new IllegalStateException();
+                }
+
+                map.remove(lastKey);
+                removable = false;
+            }
+        };
+    }
+
+    private static <K> K keyOrNull(Entry<K, ?> entry) {
+        return isNull(entry) ? null : entry.getKey();
+    }
+
+    private static <K> K keyOrThrow(Entry<K, ?> entry) {
+        if (isNull(entry)) {
+            throw new NoSuchElementException();
+        }
+
+        return entry.getKey();
+    }
+
+    private QueryableSubMap<K, T> view(boolean fromStart, K low, boolean lowInclusive,
+                                       boolean toEnd, K high, boolean highInclusive) {
+        return new QueryableSubMap<>(map, fromStart, low, lowInclusive, toEnd, high, highInclusive, descending);
+    }
+
+    private void checkInRange(K key, boolean inclusive) {
+        if (!inRange(key, inclusive)) {
+            throw new IllegalArgumentException(String.format("Key %s is out of range", key));
+        }
+    }
+
+    @Override
+    public int size() {
+        if (isAll()) {
+            return map.size();
+        }
+
+        return map.read(() -> {
+            int size = 0;
+
+            for (var entries = entries(); entries.hasNext(); entries.next()) {
+                size++;
+            }
+
+            return size;
+        });
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return isAll() ? map.isEmpty() : isNull(lowest());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return inRangeObject(key) && map.containsKey(key);
+    }
+
+    @Override
+    public T get(Object key) {
+        return inRangeObject(key) ? map.get(key) : null;
+    }
+
+    @Override
+    public T put(K key, T value) {
+        checkInRange(key, true);
+
+        return map.put(key, value);
+    }
+
+    @Override
+    public T remove(Object key) {
+        return inRangeObject(key) ? map.remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+        if (isAll()) {
+            map.clear();
+            return;
+        }
+
+        // Collected first, the tree must not change under a live iterator
+        List<K> keys = map.read(() -> {
+            List<K> inRange = new ArrayList<>();
+            entries().forEachRemaining(entry -> inRange.add(entry.getKey()));
+            return inRange;
+        });
+        keys.forEach(map::remove);
+    }
+
+    @Override
+    public Set<Entry<K, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, T>> iterator() {
+                return QueryableSubMap.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return QueryableSubMap.this.size();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return QueryableSubMap.this.isEmpty();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+
+                var entry = (Map.Entry<?, ?>) o;
+
+                return containsKey(entry.getKey()) && Objects.equals(get(entry.getKey()), entry.getValue());
+            }
+
+            @Override
+            public void clear() {
+                QueryableSubMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return map.read(() -> super.equals(o));
+    }
+
+    @Override
+    public int hashCode() {
+        return map.read(super::hashCode);
+    }
+
+    @Override
+    public String toString() {
+        return map.read(super::toString);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return descending ? Collections.reverseOrder(map.comparator()) : map.comparator();
+    }
+
+    @Override
+    public Entry<K, T> firstEntry() {
+        return descending ? highest() : lowest();
+    }
+
+    @Override
+    public Entry<K, T> lastEntry() {
+        return descending ? lowest() : highest();
+    }
+
+    @Override
+    public K firstKey() {
+        return keyOrThrow(firstEntry());
+    }
+
+    @Override
+    public K lastKey() {
+        return keyOrThrow(lastEntry());
+    }
+
+    @Override
+    public Entry<K, T> pollFirstEntry() {
+        var entry = firstEntry();
+
+        if (nonNull(entry)) {
+            map.remove(entry.getKey());
+        }
+
+        return entry;
+    }
+
+    @Override
+    public Entry<K, T> pollLastEntry() {
+        var entry = lastEntry();
+
+        if (nonNull(entry)) {
+            map.remove(entry.getKey());
+        }
+
+        return entry;
+    }
+
+    @Override
+    public Entry<K, T> lowerEntry(K key) {
+        return descending ? higher(key) : lower(key);
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return keyOrNull(lowerEntry(key));
+    }
+
+    @Override
+    public Entry<K, T> floorEntry(K key) {
+        return descending ? ceiling(key) : floor(key);
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return keyOrNull(floorEntry(key));
+    }
+
+    @Override
+    public Entry<K, T> ceilingEntry(K key) {
+        return descending ? floor(key) : ceiling(key);
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return keyOrNull(ceilingEntry(key));
+    }
+
+    @Override
+    public Entry<K, T> higherEntry(K key) {
+        return descending ? lower(key) : higher(key);
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return keyOrNull(higherEntry(key));
+    }
+
+    @Override
+    public NavigableMap<K, T> descendingMap() {
+        return new QueryableSubMap<>(map, fromStart, low, lowInclusive, toEnd, high, highInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return new QueryableKeySet<>(this);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public NavigableMap<K, T> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        checkInRange(fromKey, fromInclusive);
+        checkInRange(toKey, toInclusive);
+
+        if (descending) {
+            return view(false, toKey, toInclusive, false, fromKey, fromInclusive);
+        }
+
+        return view(false, fromKey, fromInclusive, false, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, T> headMap(K toKey, boolean inclusive) {
+        checkInRange(toKey, inclusive);
+
+        if (descending) {
+            return view(false, toKey, inclusive, toEnd, high, highInclusive);
+        }
+
+        return view(fromStart, low, lowInclusive, false, toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<K, T> tailMap(K fromKey, boolean inclusive) {
+        checkInRange(fromKey, inclusive);
+
+        if (descending) {
+            return view(fromStart, low, lowInclusive, false, fromKey, inclusive);
+        }
+
+        return view(false, fromKey, inclusive, toEnd, high, highInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, T> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public NavigableMap<K, T> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public NavigableMap<K, T> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+}
@@ -0,0 +1,289 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import dsenta.queryablemap.QueryableMap;
+import dsenta.queryablemap.art.node.handler.ArtNodeHandler;
+import dsenta.queryablemap.art.node.model.ArtNode256;
+import dsenta.queryablemap.codec.KeyCodec;
+
+// Adaptive Radix Tree, keys are walked byte by byte of their encoding through nodes sized to their number of children
+public class AdaptiveRadixTree<K extends Comparable<K>, T> implements QueryableMap<K, T>, Serializable {
+    private static final long serialVersionUID = 8104665338470217226L;
+    private final KeyCodec<K> codec;
+    private ArtNode256<K, T> root = ArtNode256.root();
+    private int count;
+
+    public AdaptiveRadixTree() {
+        this(KeyCodec.natural());
+    }
+
+    public AdaptiveRadixTree(KeyCodec<K> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return ArtNodeHandler.countNodes(root, false);
+    }
+
+    @Override
+    public int getNumberOfEmptyNodes() {
+        return ArtNodeHandler.countNodes(root, true);
+    }
+
+    @Override
+    public int depth() {
+        return ArtNodeHandler.depth(root);
+    }
+
+    @Override
+    public String getName() {
+        return "adaptiveRadixTree";
+    }
+
+    @Override
+    public Entry<K, T> getByKey(K key) {
+        if (isNull(key)) {
+            return null;
+        }
+
+        var leaf = ArtNodeHandler.find(root, codec.encode(key));
+        return isNull(leaf) ? null : ArtNodeHandler.toEntry(leaf);
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanAsc(K key) {
+        return ArtNodeHandler.toList(iterateBiggerThan(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanDesc(K key) {
+        return ArtNodeHandler.toList(iterateBiggerThan(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanAsc(K key) {
+        return ArtNodeHandler.toList(iterateLessThan(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanDesc(K key) {
+        return ArtNodeHandler.toList(iterateLessThan(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanEqualsAsc(K key) {
+        return ArtNodeHandler.toList(iterateBiggerThanEquals(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanEqualsDesc(K key) {
+        return ArtNodeHandler.toList(iterateBiggerThanEquals(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanEqualsAsc(K key) {
+        return ArtNodeHandler.toList(iterateLessThanEquals(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanEqualsDesc(K key) {
+        return ArtNodeHandler.toList(iterateLessThanEquals(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBetweenAsc(K low, K high) {
+        return ArtNodeHandler.toList(iterateBetween(low, high, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBetweenDesc(K low, K high) {
+        return ArtNodeHandler.toList(iterateBetween(low, high, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getNotEqualsAsc(K key) {
+        return getNotEquals(key, true);
+    }
+
+    @Override
+    public List<Entry<K, T>> getNotEqualsDesc(K key) {
+        return getNotEquals(key, false);
+    }
+
+    @Override
+    public List<Entry<K, T>> getAsc() {
+        return ArtNodeHandler.toList(iterate(true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getDesc() {
+        return ArtNodeHandler.toList(iterate(false));
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterate(boolean asc) {
+        return ArtNodeHandler.iterator(root, null, false, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThan(K key, boolean asc) {
+        return ArtNodeHandler.iterator(root, toBound(key), false, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThanEquals(K key, boolean asc) {
+        return ArtNodeHandler.iterator(root, toBound(key), true, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThan(K key, boolean asc) {
+        return ArtNodeHandler.iterator(root, null, false, toBound(key), false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThanEquals(K key, boolean asc) {
+        return ArtNodeHandler.iterator(root, null, false, toBound(key), true, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBetween(K low, K high, boolean asc) {
+        return ArtNodeHandler.iterator(root, toBound(low), true, toBound(high), true, asc);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        // Keys are walked byte by byte of their encoding
+        return (a, b) -> Arrays.compareUnsigned(codec.encode(a), codec.encode(b));
+    }
+
+    @Override
+    public K getMin() {
+        return ArtNodeHandler.getMin(root);
+    }
+
+    @Override
+    public K getMax() {
+        return ArtNodeHandler.getMax(root);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return nonNull(get(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        var iterator = iterate(true);
+
+        while (iterator.hasNext()) {
+            if (Objects.equals(iterator.next().getValue(), value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(Object key) {
+        return isNull(key) ? null : ArtNodeHandler.getByKey(root, codec.encode((K) key));
+    }
+
+    @Override
+    public synchronized T put(K key, T value) {
+        T oldValue = ArtNodeHandler.insert(root, codec.encode(key), key, value);
+
+        if (isNull(oldValue)) {
+            count++;
+        }
+
+        return oldValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T remove(Object key) {
+        if (isNull(key)) {
+            return null;
+        }
+
+        T value = ArtNodeHandler.delete(root, codec.encode((K) key));
+
+        if (nonNull(value)) {
+            count--;
+        }
+
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends T> m) {
+        m.forEach(this::put);
+    }
+
+    @Override
+    public synchronized void clear() {
+        root = ArtNode256.root();
+        count = 0;
+    }
+
+    private List<Entry<K, T>> getNotEquals(K key, boolean asc) {
+        var entries = new ArrayList<Entry<K, T>>();
+        iterate(asc).forEachRemaining(entry -> {
+            if (!Objects.equals(entry.getKey(), key)) {
+                entries.add(entry);
+            }
+        });
+        return entries;
+    }
+
+    private byte[] toBound(K key) {
+        return isNull(key) ? null : codec.encode(key);
+    }
+}
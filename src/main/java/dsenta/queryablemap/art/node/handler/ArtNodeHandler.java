@@ -0,0 +1,402 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art.node.handler;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import dsenta.queryablemap.art.node.model.ArtInnerNode;
+import dsenta.queryablemap.art.node.model.ArtLeaf;
+import dsenta.queryablemap.art.node.model.ArtNode;
+import dsenta.queryablemap.art.node.model.ArtNode256;
+import dsenta.queryablemap.art.node.model.ArtNode4;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ArtNodeHandler {
+
+    public static <K extends Comparable<K>, T>
+    T insert(ArtNode256<K, T> root, byte[] bytes, K key, T value) {
+        ArtInnerNode<K, T> parent = null;
+        int parentByte = -1;
+        ArtInnerNode<K, T> node = root;
+        int depth = 0;
+
+        while (true) {
+            var prefix = node.getPrefix();
+            int matched = matchPrefix(prefix, bytes, depth);
+
+            if (matched < prefix.length) {
+                // Key leaves the compressed path half way, split it there. Only the root has no parent and its path is empty
+                var split = new ArtNode4<K, T>(Arrays.copyOf(prefix, matched));
+                split.addChild(Byte.toUnsignedInt(prefix[matched]), node);
+                node.setPrefix(Arrays.copyOfRange(prefix, matched + 1, prefix.length));
+                attach(split, new ArtLeaf<>(bytes, key, value), depth + matched);
+                parent.replaceChild(parentByte, split);
+                return null;
+            }
+
+            depth += prefix.length;
+
+            if (depth == bytes.length) {
+                if (isNull(node.getLeaf())) {
+                    node.setLeaf(new ArtLeaf<>(bytes, key, value));
+                    return null;
+                }
+
+                return replaceValue(node.getLeaf(), value);
+            }
+
+            int b = Byte.toUnsignedInt(bytes[depth]);
+            var child = node.findChild(b);
+
+            if (isNull(child)) {
+                var grown = node.addChild(b, new ArtLeaf<>(bytes, key, value));
+
+                // The root is a Node256 and never grows
+                if (grown != node) {
+                    parent.replaceChild(parentByte, grown);
+                }
+
+                return null;
+            }
+
+            if (child instanceof ArtLeaf) {
+                var leaf = (ArtLeaf<K, T>) child;
+
+                if (Arrays.equals(leaf.getBytes(), bytes)) {
+                    return replaceValue(leaf, value);
+                }
+
+                // Lazy expansion, an inner node only appears once two keys share this slot
+                var other = leaf.getBytes();
+                int common = depth + 1;
+
+                while (common < bytes.length && common < other.length && bytes[common] == other[common]) {
+                    common++;
+                }
+
+                var split = new ArtNode4<K, T>(Arrays.copyOfRange(bytes, depth + 1, common));
+                attach(split, leaf, common);
+                attach(split, new ArtLeaf<>(bytes, key, value), common);
+                node.replaceChild(b, split);
+                return null;
+            }
+
+            parent = node;
+            parentByte = b;
+            node = (ArtInnerNode<K, T>) child;
+            depth++;
+        }
+    }
+
+    public static <K extends Comparable<K>, T>
+    ArtLeaf<K, T> find(ArtNode256<K, T> root, byte[] bytes) {
+        ArtInnerNode<K, T> node = root;
+        int depth = 0;
+
+        while (true) {
+            var prefix = node.getPrefix();
+
+            if (matchPrefix(prefix, bytes, depth) < prefix.length) {
+                return null;
+            }
+
+            depth += prefix.length;
+
+            if (depth == bytes.length) {
+                return node.getLeaf();
+            }
+
+            var child = node.findChild(Byte.toUnsignedInt(bytes[depth]));
+
+            if (isNull(child)) {
+                return null;
+            }
+
+            if (child instanceof ArtLeaf) {
+                var leaf = (ArtLeaf<K, T>) child;
+                return Arrays.equals(leaf.getBytes(), bytes) ? leaf : null;
+            }
+
+            node = (ArtInnerNode<K, T>) child;
+            depth++;
+        }
+    }
+
+    public static <K extends Comparable<K>, T>
+    T getByKey(ArtNode256<K, T> root, byte[] bytes) {
+        var leaf = find(root, bytes);
+        return isNull(leaf) ? null : leaf.getValue();
+    }
+
+    public static <K extends Comparable<K>, T>
+    T delete(ArtNode256<K, T> root, byte[] bytes) {
+        ArtInnerNode<K, T> parent = null;
+        int parentByte = -1;
+        ArtInnerNode<K, T> node = root;
+        int depth = 0;
+
+        while (true) {
+            var prefix = node.getPrefix();
+
+            if (matchPrefix(prefix, bytes, depth) < prefix.length) {
+                return null;
+            }
+
+            depth += prefix.length;
+
+            if (depth == bytes.length) {
+                var leaf = node.getLeaf();
+
+                if (isNull(leaf)) {
+                    return null;
+                }
+
+                node.setLeaf(null);
+                collapse(parent, parentByte, node);
+                return leaf.getValue();
+            }
+
+            int b = Byte.toUnsignedInt(bytes[depth]);
+            var child = node.findChild(b);
+
+            if (isNull(child)) {
+                return null;
+            }
+
+            if (child instanceof ArtLeaf) {
+                var leaf = (ArtLeaf<K, T>) child;
+
+                if (!Arrays.equals(leaf.getBytes(), bytes)) {
+                    return null;
+                }
+
+                var shrunk = node.removeChild(b);
+
+                // The root never shrinks
+                if (shrunk != node) {
+                    parent.replaceChild(parentByte, shrunk);
+                }
+
+                collapse(parent, parentByte, shrunk);
+                return leaf.getValue();
+            }
+
+            parent = node;
+            parentByte = b;
+            node = (ArtInnerNode<K, T>) child;
+            depth++;
+        }
+    }
+
+    public static <K extends Comparable<K>, T>
+    K getMin(ArtNode256<K, T> root) {
+        ArtInnerNode<K, T> node = root;
+
+        while (true) {
+            if (nonNull(node.getLeaf())) {
+                return node.getLeaf().getKey();
+            }
+
+            int b = node.ceiling(0);
+
+            if (b < 0) {
+                return null;
+            }
+
+            var child = node.findChild(b);
+
+            if (child instanceof ArtLeaf) {
+                return ((ArtLeaf<K, T>) child).getKey();
+            }
+
+            node = (ArtInnerNode<K, T>) child;
+        }
+    }
+
+    public static <K extends Comparable<K>, T>
+    K getMax(ArtNode256<K, T> root) {
+        ArtInnerNode<K, T> node = root;
+
+        while (true) {
+            int b = node.floor(255);
+
+            if (b < 0) {
+                return isNull(node.getLeaf()) ? null : node.getLeaf().getKey();
+            }
+
+            var child = node.findChild(b);
+
+            if (child instanceof ArtLeaf) {
+                return ((ArtLeaf<K, T>) child).getKey();
+            }
+
+            node = (ArtInnerNode<K, T>) child;
+        }
+    }
+
+    public static <K extends Comparable<K>, T>
+    Iterator<Entry<K, T>> iterator(ArtNode256<K, T> root,
+                                   byte[] low,
+                                   boolean lowInclusive,
+                                   byte[] high,
+                                   boolean highInclusive,
+                                   boolean asc) {
+        return new ArtNodeIterator<>(root, low, lowInclusive, high, highInclusive, asc);
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> toList(Iterator<Entry<K, T>> iterator) {
+        var entries = new ArrayList<Entry<K, T>>();
+        iterator.forEachRemaining(entries::add);
+        return entries;
+    }
+
+    public static <K extends Comparable<K>, T>
+    Entry<K, T> toEntry(ArtLeaf<K, T> leaf) {
+        return new AbstractMap.SimpleImmutableEntry<>(leaf.getKey(), leaf.getValue());
+    }
+
+    // Inner nodes never hold a value themselves, so they are the empty ones
+    public static <K extends Comparable<K>, T>
+    int countNodes(ArtNode256<K, T> root, boolean emptyOnly) {
+        int count = 0;
+        var nodes = new ArrayDeque<ArtInnerNode<K, T>>();
+        nodes.push(root);
+
+        while (!nodes.isEmpty()) {
+            var node = nodes.pop();
+            count++;
+
+            if (!emptyOnly && nonNull(node.getLeaf())) {
+                count++;
+            }
+
+            for (int b = node.ceiling(0); b >= 0; b = node.ceiling(b + 1)) {
+                var child = node.findChild(b);
+
+                if (child instanceof ArtLeaf) {
+                    count += emptyOnly ? 0 : 1;
+                } else {
+                    nodes.push((ArtInnerNode<K, T>) child);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    public static <K extends Comparable<K>, T>
+    int depth(ArtNode256<K, T> root) {
+        int depth = 0;
+        var nodes = new ArrayDeque<ArtInnerNode<K, T>>();
+        var levels = new ArrayDeque<Integer>();
+        nodes.push(root);
+        levels.push(0);
+
+        while (!nodes.isEmpty()) {
+            var node = nodes.pop();
+            int level = levels.pop();
+            depth = Math.max(depth, level + (nonNull(node.getLeaf()) ? 1 : 0));
+
+            for (int b = node.ceiling(0); b >= 0; b = node.ceiling(b + 1)) {
+                var child = node.findChild(b);
+
+                if (child instanceof ArtLeaf) {
+                    depth = Math.max(depth, level + 1);
+                } else {
+                    nodes.push((ArtInnerNode<K, T>) child);
+                    levels.push(level + 1);
+                }
+            }
+        }
+
+        return depth;
+    }
+
+    private static <K extends Comparable<K>, T>
+    T replaceValue(ArtLeaf<K, T> leaf, T value) {
+        T oldValue = leaf.getValue();
+        leaf.setValue(value);
+        return oldValue;
+    }
+
+    // Hangs a leaf under a fresh node whose path ends at depth
+    private static <K extends Comparable<K>, T>
+    void attach(ArtInnerNode<K, T> node, ArtLeaf<K, T> leaf, int depth) {
+        if (leaf.getBytes().length == depth) {
+            node.setLeaf(leaf);
+        } else {
+            node.addChild(Byte.toUnsignedInt(leaf.getBytes()[depth]), leaf);
+        }
+    }
+
+    // Every inner node below the root keeps at least two entries, one left over is pulled up into the parent
+    private static <K extends Comparable<K>, T>
+    void collapse(ArtInnerNode<K, T> parent, int parentByte, ArtInnerNode<K, T> node) {
+        if (isNull(parent) || node.getCount() + (nonNull(node.getLeaf()) ? 1 : 0) > 1) {
+            return;
+        }
+
+        if (nonNull(node.getLeaf())) {
+            parent.replaceChild(parentByte, node.getLeaf());
+            return;
+        }
+
+        int b = node.ceiling(0);
+        var child = node.findChild(b);
+
+        if (child instanceof ArtInnerNode) {
+            var inner = (ArtInnerNode<K, T>) child;
+            var prefix = node.getPrefix();
+            var childPrefix = inner.getPrefix();
+            var merged = Arrays.copyOf(prefix, prefix.length + 1 + childPrefix.length);
+            merged[prefix.length] = (byte) b;
+            System.arraycopy(childPrefix, 0, merged, prefix.length + 1, childPrefix.length);
+            inner.setPrefix(merged);
+        }
+
+        parent.replaceChild(parentByte, child);
+    }
+
+    private static int matchPrefix(byte[] prefix, byte[] bytes, int depth) {
+        int i = 0;
+
+        while (i < prefix.length && depth + i < bytes.length && prefix[i] == bytes[depth + i]) {
+            i++;
+        }
+
+        return i;
+    }
+}
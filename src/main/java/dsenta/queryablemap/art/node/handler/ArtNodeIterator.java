@@ -0,0 +1,226 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art.node.handler;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+import dsenta.queryablemap.art.node.model.ArtInnerNode;
+import dsenta.queryablemap.art.node.model.ArtLeaf;
+import dsenta.queryablemap.art.node.model.ArtNode;
+import lombok.AllArgsConstructor;
+
+public class ArtNodeIterator<K extends Comparable<K>, T> implements Iterator<Entry<K, T>> {
+    private static final int SMALLER = -1;
+    private static final int PREFIX = 0;
+    private static final int BIGGER = 1;
+
+    private final byte[] low;
+    private final boolean lowInclusive;
+    private final byte[] high;
+    private final boolean highInclusive;
+    private final boolean asc;
+    private final Deque<Frame<K, T>> frames = new ArrayDeque<>();
+    private Entry<K, T> nextEntry;
+
+    public ArtNodeIterator(ArtInnerNode<K, T> root,
+                           byte[] low,
+                           boolean lowInclusive,
+                           byte[] high,
+                           boolean highInclusive,
+                           boolean asc) {
+        this.low = low;
+        this.lowInclusive = lowInclusive;
+        this.high = high;
+        this.highInclusive = highInclusive;
+        this.asc = asc;
+
+        // Root path is empty, a prefix of every bound
+        frames.push(new Frame<>(root, 0, isNull(low) ? BIGGER : PREFIX, isNull(high) ? SMALLER : PREFIX));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (isNull(nextEntry)) {
+            nextEntry = advance();
+        }
+
+        return nonNull(nextEntry);
+    }
+
+    @Override
+    public Entry<K, T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var result = nextEntry;
+        nextEntry = null;
+
+        return result;
+    }
+
+    private Entry<K, T> advance() {
+        while (!frames.isEmpty()) {
+            var frame = frames.pop();
+
+            if (frame.node instanceof ArtLeaf) {
+                var leaf = (ArtLeaf<K, T>) frame.node;
+
+                if (inRange(frame, leaf)) {
+                    return ArtNodeHandler.toEntry(leaf);
+                }
+
+                continue;
+            }
+
+            var node = (ArtInnerNode<K, T>) frame.node;
+            var leaf = node.getLeaf();
+
+            // A key ending at this node is a prefix of, so sorts before, every key below it
+            if (!asc && nonNull(leaf)) {
+                frames.push(new Frame<>(leaf, frame.depth, frame.lowState, frame.highState));
+            }
+
+            pushChildren(node, frame);
+
+            if (asc && nonNull(leaf)) {
+                frames.push(new Frame<>(leaf, frame.depth, frame.lowState, frame.highState));
+            }
+        }
+
+        return null;
+    }
+
+    private void pushChildren(ArtInnerNode<K, T> node, Frame<K, T> frame) {
+        int depth = frame.depth;
+        int from = 0;
+        int to = 255;
+
+        if (frame.lowState == PREFIX && depth < low.length) {
+            from = Byte.toUnsignedInt(low[depth]);
+        }
+
+        if (frame.highState == PREFIX) {
+            if (depth >= high.length) {
+                // Every child runs past the end of the high bound
+                return;
+            }
+
+            to = Byte.toUnsignedInt(high[depth]);
+        }
+
+        // Pushed so the next child in order ends up on top
+        if (asc) {
+            for (int b = node.floor(to); b >= from; b = node.floor(b - 1)) {
+                pushChild(node.findChild(b), b, frame);
+            }
+        } else {
+            for (int b = node.ceiling(from); b >= 0 && b <= to; b = b == 255 ? -1 : node.ceiling(b + 1)) {
+                pushChild(node.findChild(b), b, frame);
+            }
+        }
+    }
+
+    private void pushChild(ArtNode<K, T> child, int b, Frame<K, T> frame) {
+        if (child instanceof ArtLeaf) {
+            frames.push(new Frame<>(child, frame.depth + 1, frame.lowState, frame.highState));
+            return;
+        }
+
+        var prefix = ((ArtInnerNode<K, T>) child).getPrefix();
+        int lowState = childState(frame.lowState, low, frame.depth, b, prefix);
+        int highState = childState(frame.highState, high, frame.depth, b, prefix);
+
+        if (lowState != SMALLER && highState != BIGGER) {
+            frames.push(new Frame<>(child, frame.depth + 1 + prefix.length, lowState, highState));
+        }
+    }
+
+    private boolean inRange(Frame<K, T> frame, ArtLeaf<K, T> leaf) {
+        boolean lowOk = frame.lowState == BIGGER;
+        boolean highOk = frame.highState == SMALLER;
+
+        // Leaves hold the rest of their key, so on the edge of a bound they are compared in full
+        if (!lowOk) {
+            int compared = Arrays.compareUnsigned(leaf.getBytes(), low);
+            lowOk = compared > 0 || (compared == 0 && lowInclusive);
+        }
+
+        if (!highOk) {
+            int compared = Arrays.compareUnsigned(leaf.getBytes(), high);
+            highOk = compared < 0 || (compared == 0 && highInclusive);
+        }
+
+        return lowOk && highOk;
+    }
+
+    // Compares the child's byte and compressed path with the bound, a path running past the end of the bound is bigger
+    private static int childState(int parentState, byte[] bound, int depth, int b, byte[] prefix) {
+        if (parentState != PREFIX) {
+            return parentState;
+        }
+
+        if (depth >= bound.length) {
+            return BIGGER;
+        }
+
+        int compared = Integer.compare(b, Byte.toUnsignedInt(bound[depth]));
+
+        if (compared != 0) {
+            return Integer.signum(compared);
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            int position = depth + 1 + i;
+
+            if (position >= bound.length) {
+                return BIGGER;
+            }
+
+            compared = Integer.compare(Byte.toUnsignedInt(prefix[i]), Byte.toUnsignedInt(bound[position]));
+
+            if (compared != 0) {
+                return Integer.signum(compared);
+            }
+        }
+
+        return PREFIX;
+    }
+
+    @AllArgsConstructor
+    private static class Frame<K extends Comparable<K>, T> {
+        ArtNode<K, T> node;
+        int depth;
+        int lowState;
+        int highState;
+    }
+}
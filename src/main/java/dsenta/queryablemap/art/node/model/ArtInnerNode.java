@@ -0,0 +1,64 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art.node.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Child keys are unsigned bytes, 0 to 255
+@Getter
+@Setter
+public abstract class ArtInnerNode<K extends Comparable<K>, T> extends ArtNode<K, T> {
+    private static final long serialVersionUID = -1985420273150451628L;
+    // Compressed path, every key below shares these bytes
+    private byte[] prefix;
+    // Key which ends exactly at this node, it sorts before all of the children
+    private ArtLeaf<K, T> leaf;
+    protected int count;
+
+    protected ArtInnerNode(byte[] prefix) {
+        this.prefix = prefix;
+    }
+
+    public abstract ArtNode<K, T> findChild(int b);
+
+    // Returns a bigger node when this one is full
+    public abstract ArtInnerNode<K, T> addChild(int b, ArtNode<K, T> child);
+
+    public abstract void replaceChild(int b, ArtNode<K, T> child);
+
+    // Returns a smaller node once this one is sparse enough
+    public abstract ArtInnerNode<K, T> removeChild(int b);
+
+    // Smallest child key from b upwards, -1 when there is none
+    public abstract int ceiling(int b);
+
+    // Biggest child key from b downwards, -1 when there is none
+    public abstract int floor(int b);
+
+    protected <N extends ArtInnerNode<K, T>> N copyHeaderTo(N node) {
+        node.setLeaf(leaf);
+        return node;
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art.node.model;
+
+public class ArtNode16<K extends Comparable<K>, T> extends ArtSortedNode<K, T> {
+    private static final long serialVersionUID = 1268045523916420317L;
+    private static final int SHRINK_AT = 3;
+
+    public ArtNode16(byte[] prefix) {
+        super(prefix, 16);
+    }
+
+    @Override
+    protected int indexOf(int b) {
+        int low = 0;
+        int high = count - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int key = Byte.toUnsignedInt(keys[middle]);
+
+            if (key < b) {
+                low = middle + 1;
+            } else if (key > b) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -low - 1;
+    }
+
+    @Override
+    protected ArtInnerNode<K, T> grow() {
+        var node = new ArtNode48<K, T>(getPrefix());
+
+        for (int i = 0; i < count; i++) {
+            node.addChild(Byte.toUnsignedInt(keys[i]), children[i]);
+        }
+
+        return copyHeaderTo(node);
+    }
+
+    @Override
+    protected ArtInnerNode<K, T> shrink() {
+        return count > SHRINK_AT ? this : copyTo(new ArtNode4<>(getPrefix()));
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art.node.model;
+
+public class ArtNode256<K extends Comparable<K>, T> extends ArtInnerNode<K, T> {
+    private static final long serialVersionUID = 6610933258712046395L;
+    private static final int SHRINK_AT = 37;
+    private final ArtNode<K, T>[] children;
+    // The root never shrinks, it would only grow back
+    private final boolean root;
+
+    public ArtNode256(byte[] prefix) {
+        this(prefix, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArtNode256(byte[] prefix, boolean root) {
+        super(prefix);
+        this.children = (ArtNode<K, T>[]) new ArtNode<?, ?>[256];
+        this.root = root;
+    }
+
+    public static <K extends Comparable<K>, T> ArtNode256<K, T> root() {
+        return new ArtNode256<>(new byte[0], true);
+    }
+
+    @Override
+    public ArtNode<K, T> findChild(int b) {
+        return children[b];
+    }
+
+    @Override
+    public ArtInnerNode<K, T> addChild(int b, ArtNode<K, T> child) {
+        children[b] = child;
+        count++;
+        return this;
+    }
+
+    @Override
+    public void replaceChild(int b, ArtNode<K, T> child) {
+        children[b] = child;
+    }
+
+    @Override
+    public ArtInnerNode<K, T> removeChild(int b) {
+        children[b] = null;
+        count--;
+
+        if (root || count > SHRINK_AT) {
+            return this;
+        }
+
+        var node = new ArtNode48<K, T>(getPrefix());
+
+        for (int i = 0; i < 256; i++) {
+            if (children[i] != null) {
+                node.addChild(i, children[i]);
+            }
+        }
+
+        return copyHeaderTo(node);
+    }
+
+    @Override
+    public int ceiling(int b) {
+        for (int i = b; i < 256; i++) {
+            if (children[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int floor(int b) {
+        for (int i = b; i >= 0; i--) {
+            if (children[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public boolean isRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art.node.model;
+
+public class ArtNode48<K extends Comparable<K>, T> extends ArtInnerNode<K, T> {
+    private static final long serialVersionUID = -2783056419174390671L;
+    private static final int CAPACITY = 48;
+    private static final int SHRINK_AT = 12;
+    // Slot of every child key plus one, zero when the key is absent
+    private final byte[] index = new byte[256];
+    private final ArtNode<K, T>[] children;
+
+    @SuppressWarnings("unchecked")
+    public ArtNode48(byte[] prefix) {
+        super(prefix);
+        this.children = (ArtNode<K, T>[]) new ArtNode<?, ?>[CAPACITY];
+    }
+
+    @Override
+    public ArtNode<K, T> findChild(int b) {
+        int slot = index[b];
+        return slot != 0 ? children[slot - 1] : null;
+    }
+
+    @Override
+    public ArtInnerNode<K, T> addChild(int b, ArtNode<K, T> child) {
+        if (count == CAPACITY) {
+            var node = new ArtNode256<K, T>(getPrefix());
+
+            for (int i = 0; i < 256; i++) {
+                if (index[i] != 0) {
+                    node.addChild(i, children[index[i] - 1]);
+                }
+            }
+
+            return copyHeaderTo(node).addChild(b, child);
+        }
+
+        // Removals leave holes, so look for the first free slot
+        int slot = 0;
+        while (children[slot] != null) {
+            slot++;
+        }
+
+        children[slot] = child;
+        index[b] = (byte) (slot + 1);
+        count++;
+
+        return this;
+    }
+
+    @Override
+    public void replaceChild(int b, ArtNode<K, T> child) {
+        children[index[b] - 1] = child;
+    }
+
+    @Override
+    public ArtInnerNode<K, T> removeChild(int b) {
+        children[index[b] - 1] = null;
+        index[b] = 0;
+        count--;
+
+        if (count > SHRINK_AT) {
+            return this;
+        }
+
+        var node = new ArtNode16<K, T>(getPrefix());
+
+        for (int i = 0; i < 256; i++) {
+            if (index[i] != 0) {
+                node.addChild(i, children[index[i] - 1]);
+            }
+        }
+
+        return copyHeaderTo(node);
+    }
+
+    @Override
+    public int ceiling(int b) {
+        for (int i = b; i < 256; i++) {
+            if (index[i] != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int floor(int b) {
+        for (int i = b; i >= 0; i--) {
+            if (index[i] != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
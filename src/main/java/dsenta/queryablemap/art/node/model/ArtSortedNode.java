@@ -0,0 +1,116 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.art.node.model;
+
+// Node4 and Node16, child keys kept sorted next to their children
+public abstract class ArtSortedNode<K extends Comparable<K>, T> extends ArtInnerNode<K, T> {
+    private static final long serialVersionUID = 4457120975264839412L;
+    protected final byte[] keys;
+    protected final ArtNode<K, T>[] children;
+
+    @SuppressWarnings("unchecked")
+    protected ArtSortedNode(byte[] prefix, int capacity) {
+        super(prefix);
+        this.keys = new byte[capacity];
+        this.children = (ArtNode<K, T>[]) new ArtNode<?, ?>[capacity];
+    }
+
+    // Index of b, or the negative insertion point minus one
+    protected abstract int indexOf(int b);
+
+    protected abstract ArtInnerNode<K, T> grow();
+
+    protected abstract ArtInnerNode<K, T> shrink();
+
+    @Override
+    public ArtNode<K, T> findChild(int b) {
+        int index = indexOf(b);
+        return index >= 0 ? children[index] : null;
+    }
+
+    @Override
+    public ArtInnerNode<K, T> addChild(int b, ArtNode<K, T> child) {
+        if (count == keys.length) {
+            return grow().addChild(b, child);
+        }
+
+        int index = -indexOf(b) - 1;
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(children, index, children, index + 1, count - index);
+        keys[index] = (byte) b;
+        children[index] = child;
+        count++;
+
+        return this;
+    }
+
+    @Override
+    public void replaceChild(int b, ArtNode<K, T> child) {
+        children[indexOf(b)] = child;
+    }
+
+    @Override
+    public ArtInnerNode<K, T> removeChild(int b) {
+        int index = indexOf(b);
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        System.arraycopy(children, index + 1, children, index, count - index - 1);
+        children[--count] = null;
+
+        return shrink();
+    }
+
+    @Override
+    public int ceiling(int b) {
+        for (int i = 0; i < count; i++) {
+            int key = Byte.toUnsignedInt(keys[i]);
+
+            if (key >= b) {
+                return key;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int floor(int b) {
+        for (int i = count - 1; i >= 0; i--) {
+            int key = Byte.toUnsignedInt(keys[i]);
+
+            if (key <= b) {
+                return key;
+            }
+        }
+
+        return -1;
+    }
+
+    protected <N extends ArtInnerNode<K, T>> N copyTo(N node) {
+        for (int i = 0; i < count; i++) {
+            node.addChild(Byte.toUnsignedInt(keys[i]), children[i]);
+        }
+
+        return copyHeaderTo(node);
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Encodes keys into byte arrays whose unsigned lexicographic order is the order of the keys
+@FunctionalInterface
+public interface KeyCodec<K> extends Serializable {
+
+    byte[] encode(K key);
+
+    // Encodes a part of some other key, for building composite codecs
+    default <R> KeyCodec<R> compose(Function<? super R, ? extends K> extractor) {
+        return key -> encode(extractor.apply(key));
+    }
+
+    // Big-endian with the sign bit flipped, so negatives sort before positives
+    static KeyCodec<Integer> ofInt() {
+        return key -> {
+            int bits = key ^ Integer.MIN_VALUE;
+            return new byte[]{(byte) (bits >>> 24), (byte) (bits >>> 16), (byte) (bits >>> 8), (byte) bits};
+        };
+    }
+
+    static KeyCodec<Long> ofLong() {
+        return key -> {
+            var bytes = new byte[Long.BYTES];
+            writeLong(bytes, 0, key);
+            return bytes;
+        };
+    }
+
+    // UTF-8 applied to each char on its own, surrogates included, so the order is exactly String.compareTo
+    // and unpaired surrogates survive instead of turning into '?'
+    static KeyCodec<String> ofString() {
+        return key -> {
+            int length = key.length();
+            int size = 0;
+
+            for (int i = 0; i < length; i++) {
+                char c = key.charAt(i);
+                size += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            }
+
+            var bytes = new byte[size];
+            int position = 0;
+
+            for (int i = 0; i < length; i++) {
+                char c = key.charAt(i);
+
+                if (c < 0x80) {
+                    bytes[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[position++] = (byte) (0xC0 | c >>> 6);
+                    bytes[position++] = (byte) (0x80 | c & 0x3F);
+                } else {
+                    bytes[position++] = (byte) (0xE0 | c >>> 12);
+                    bytes[position++] = (byte) (0x80 | c >>> 6 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+
+            return bytes;
+        };
+    }
+
+    // Orders any key the way String.valueOf(key) sorts
+    static <K> KeyCodec<K> ofStringForm() {
+        return key -> ofString().encode(String.valueOf(key));
+    }
+
+    // Same order as UUID.compareTo, which compares both halves as signed longs
+    static KeyCodec<UUID> ofUuid() {
+        return key -> {
+            var bytes = new byte[2 * Long.BYTES];
+            writeLong(bytes, 0, key.getMostSignificantBits());
+            writeLong(bytes, Long.BYTES, key.getLeastSignificantBits());
+            return bytes;
+        };
+    }
+
+    // Orders by the first part, then the next one and so on. Every part but the last has its zero bytes
+    // escaped as 0x00 0xFF and ends with 0x00 0x00, so a shorter part sorts before any longer one it prefixes.
+    @SafeVarargs
+    static <K> KeyCodec<K> composite(KeyCodec<? super K>... parts) {
+        return key -> {
+            var out = new ByteArrayOutputStream();
+
+            for (int i = 0; i < parts.length; i++) {
+                var bytes = parts[i].encode(key);
+
+                if (i == parts.length - 1) {
+                    out.write(bytes, 0, bytes.length);
+                    break;
+                }
+
+                for (byte b : bytes) {
+                    out.write(b);
+
+                    if (b == 0) {
+                        out.write(0xFF);
+                    }
+                }
+
+                out.write(0);
+                out.write(0);
+            }
+
+            return out.toByteArray();
+        };
+    }
+
+    // Picks a built-in codec from the runtime type of each key
+    static <K> KeyCodec<K> natural() {
+        return key -> {
+            if (key instanceof Integer) {
+                return ofInt().encode((Integer) key);
+            } else if (key instanceof Long) {
+                return ofLong().encode((Long) key);
+            } else if (key instanceof String) {
+                return ofString().encode((String) key);
+            } else if (key instanceof UUID) {
+                return ofUuid().encode((UUID) key);
+            }
+
+            throw new IllegalArgumentException("No KeyCodec for " + key.getClass().getName());
+        };
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        long bits = value ^ Long.MIN_VALUE;
+
+        for (int i = offset + Long.BYTES - 1; i >= offset; i--) {
+            bytes[i] = (byte) bits;
+            bits >>>= 8;
+        }
+    }
+}
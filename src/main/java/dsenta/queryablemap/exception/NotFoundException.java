@@ -23,5 +23,8 @@
  */
 package dsenta.queryablemap.exception;
 
+// No longer thrown, WhiteGreyBlackTree looks the key up before put and remove,
+// insert then replaces the data of an existing key and delete ignores a missing one
+@Deprecated
 public class NotFoundException extends Throwable {
 }
\ No newline at end of file
@@ -23,6 +23,9 @@
  */
 package dsenta.queryablemap.exception;
 
+// No longer thrown, WhiteGreyBlackTree looks the key up before put and remove,
+// insert then replaces the data of an existing key and delete ignores a missing one
+@Deprecated
 public class UniqueException extends Throwable {
     public UniqueException(String s) {
         super(s);
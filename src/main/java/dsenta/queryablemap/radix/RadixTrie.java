@@ -0,0 +1,276 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.radix;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import dsenta.queryablemap.QueryableMap;
+import dsenta.queryablemap.codec.KeyCodec;
+import dsenta.queryablemap.radix.node.handler.RadixNodeHandler;
+import dsenta.queryablemap.radix.node.model.RadixNode;
+
+// Path-compressed Trie, chains of single child nodes collapse into one edge labelled with a slice of a key encoding.
+// Not thread safe, callers that share one synchronize around it.
+public class RadixTrie<K extends Comparable<K>, T> implements QueryableMap<K, T>, Serializable {
+    private static final long serialVersionUID = -2291784215618047339L;
+    private static final byte[] EMPTY = new byte[0];
+    private final RadixNode<K, T> root = RadixNode.empty();
+    private final KeyCodec<K> codec;
+    private int count;
+
+    // Keys sort by their string form
+    public RadixTrie() {
+        this(KeyCodec.ofStringForm());
+    }
+
+    public RadixTrie(KeyCodec<K> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return RadixNodeHandler.countNodes(root, false);
+    }
+
+    @Override
+    public int getNumberOfEmptyNodes() {
+        return RadixNodeHandler.countNodes(root, true);
+    }
+
+    @Override
+    public int depth() {
+        return RadixNodeHandler.depth(root);
+    }
+
+    @Override
+    public String getName() {
+        return "radixTrie";
+    }
+
+    @Override
+    public Entry<K, T> getByKey(K key) {
+        var node = RadixNodeHandler.find(root, encode(key));
+        return isNull(node) || isNull(node.getValue()) ? null : RadixNodeHandler.toEntry(node);
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanAsc(K key) {
+        return RadixNodeHandler.toList(iterateBiggerThan(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanDesc(K key) {
+        return RadixNodeHandler.toList(iterateBiggerThan(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanAsc(K key) {
+        return RadixNodeHandler.toList(iterateLessThan(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanDesc(K key) {
+        return RadixNodeHandler.toList(iterateLessThan(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanEqualsAsc(K key) {
+        return RadixNodeHandler.toList(iterateBiggerThanEquals(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBiggerThanEqualsDesc(K key) {
+        return RadixNodeHandler.toList(iterateBiggerThanEquals(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanEqualsAsc(K key) {
+        return RadixNodeHandler.toList(iterateLessThanEquals(key, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getLessThanEqualsDesc(K key) {
+        return RadixNodeHandler.toList(iterateLessThanEquals(key, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBetweenAsc(K low, K high) {
+        return RadixNodeHandler.toList(iterateBetween(low, high, true));
+    }
+
+    @Override
+    public List<Entry<K, T>> getBetweenDesc(K low, K high) {
+        return RadixNodeHandler.toList(iterateBetween(low, high, false));
+    }
+
+    @Override
+    public List<Entry<K, T>> getNotEqualsAsc(K key) {
+        return RadixNodeHandler.getNotEquals(root, key, true);
+    }
+
+    @Override
+    public List<Entry<K, T>> getNotEqualsDesc(K key) {
+        return RadixNodeHandler.getNotEquals(root, key, false);
+    }
+
+    @Override
+    public List<Entry<K, T>> getAsc() {
+        return RadixNodeHandler.get(root, true);
+    }
+
+    @Override
+    public List<Entry<K, T>> getDesc() {
+        return RadixNodeHandler.get(root, false);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterate(boolean asc) {
+        return RadixNodeHandler.iterator(root, null, false, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThan(K key, boolean asc) {
+        return RadixNodeHandler.iterator(root, encode(key), false, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThanEquals(K key, boolean asc) {
+        return RadixNodeHandler.iterator(root, encode(key), true, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThan(K key, boolean asc) {
+        return RadixNodeHandler.iterator(root, null, false, encode(key), false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThanEquals(K key, boolean asc) {
+        return RadixNodeHandler.iterator(root, null, false, encode(key), true, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBetween(K low, K high, boolean asc) {
+        return RadixNodeHandler.iterator(root, encode(low), true, encode(high), true, asc);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        // Keys are walked byte by byte of their encoding
+        return (a, b) -> Arrays.compareUnsigned(encode(a), encode(b));
+    }
+
+    @Override
+    public K getMin() {
+        return RadixNodeHandler.getMin(root);
+    }
+
+    @Override
+    public K getMax() {
+        return RadixNodeHandler.getMax(root);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean containsKey(Object key) {
+        return nonNull(RadixNodeHandler.getByKey(root, encode((K) key)));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        var iterator = iterate(true);
+
+        while (iterator.hasNext()) {
+            if (Objects.equals(iterator.next().getValue(), value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(Object key) {
+        return RadixNodeHandler.getByKey(root, encode((K) key));
+    }
+
+    @Override
+    public T put(K key, T value) {
+        T oldValue = RadixNodeHandler.insert(root, encode(key), key, value);
+
+        if (isNull(oldValue)) {
+            count++;
+        }
+
+        return oldValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(Object key) {
+        T value = RadixNodeHandler.delete(root, encode((K) key));
+
+        if (nonNull(value)) {
+            count--;
+        }
+
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends T> m) {
+        m.forEach(this::put);
+    }
+
+    @Override
+    public void clear() {
+        root.clear();
+        count = 0;
+    }
+
+    // The null key lives in the root, same as a key whose encoding is empty.
+    // Unbounded ends are passed as null, so an empty encoding is still a real bound.
+    private byte[] encode(K key) {
+        return isNull(key) ? EMPTY : codec.encode(key);
+    }
+}
@@ -0,0 +1,271 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.radix.node.handler;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import dsenta.queryablemap.radix.node.model.RadixNode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RadixNodeHandler {
+
+    public static <K extends Comparable<K>, T>
+    T insert(RadixNode<K, T> root, byte[] bytes, K key, T value) {
+        var node = root;
+
+        while (node.getDepth() < bytes.length) {
+            int index = node.indexOf(Byte.toUnsignedInt(bytes[node.getDepth()]));
+
+            if (index < 0) {
+                node.insertChild(-index - 1, RadixNode.of(bytes, key, value));
+                return null;
+            }
+
+            var child = node.getChild(index);
+            int common = commonPrefix(child.getPath(), bytes, node.getDepth() + 1, Math.min(child.getDepth(), bytes.length));
+
+            if (common < child.getDepth()) {
+                // Key leaves the edge half way, split it there
+                var middle = new RadixNode<K, T>(child.getPath(), common);
+                middle.insertChild(0, child);
+                node.setChild(index, middle);
+                child = middle;
+            }
+
+            node = child;
+        }
+
+        node.setKey(key);
+
+        return node.setValue(value);
+    }
+
+    public static <K extends Comparable<K>, T>
+    RadixNode<K, T> find(RadixNode<K, T> root, byte[] bytes) {
+        var node = root;
+
+        while (node.getDepth() < bytes.length) {
+            int index = node.indexOf(Byte.toUnsignedInt(bytes[node.getDepth()]));
+
+            if (index < 0) {
+                return null;
+            }
+
+            var child = node.getChild(index);
+
+            if (!matches(child, bytes, node.getDepth())) {
+                return null;
+            }
+
+            node = child;
+        }
+
+        return node;
+    }
+
+    public static <K extends Comparable<K>, T>
+    T getByKey(RadixNode<K, T> root, byte[] bytes) {
+        var node = find(root, bytes);
+        return isNull(node) ? null : node.getValue();
+    }
+
+    public static <K extends Comparable<K>, T>
+    T delete(RadixNode<K, T> root, byte[] bytes) {
+        RadixNode<K, T> grandparent = null;
+        RadixNode<K, T> parent = null;
+        var node = root;
+        int parentIndex = -1;
+        int nodeIndex = -1;
+
+        while (node.getDepth() < bytes.length) {
+            int index = node.indexOf(Byte.toUnsignedInt(bytes[node.getDepth()]));
+
+            if (index < 0 || !matches(node.getChild(index), bytes, node.getDepth())) {
+                return null;
+            }
+
+            grandparent = parent;
+            parentIndex = nodeIndex;
+            parent = node;
+            nodeIndex = index;
+            node = node.getChild(index);
+        }
+
+        if (isNull(node.getValue())) {
+            return null;
+        }
+
+        T oldValue = node.setValue(null);
+        node.setKey(null);
+
+        if (isNull(parent)) {
+            return oldValue;
+        }
+
+        // Every node below the root keeps a value or at least two children
+        if (node.getChildCount() == 0) {
+            parent.removeChild(nodeIndex);
+
+            if (nonNull(grandparent) && isNull(parent.getValue()) && parent.getChildCount() == 1) {
+                grandparent.setChild(parentIndex, parent.getChild(0));
+            }
+        } else if (node.getChildCount() == 1) {
+            parent.setChild(nodeIndex, node.getChild(0));
+        }
+
+        return oldValue;
+    }
+
+    public static <K extends Comparable<K>, T>
+    K getMin(RadixNode<K, T> root) {
+        var node = root;
+
+        while (isNull(node.getValue()) && node.getChildCount() > 0) {
+            node = node.getChild(0);
+        }
+
+        return node.getKey();
+    }
+
+    public static <K extends Comparable<K>, T>
+    K getMax(RadixNode<K, T> root) {
+        var node = root;
+
+        while (node.getChildCount() > 0) {
+            node = node.getChild(node.getChildCount() - 1);
+        }
+
+        return node.getKey();
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> get(RadixNode<K, T> root, boolean asc) {
+        return toList(iterator(root, null, false, null, false, asc));
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> getNotEquals(RadixNode<K, T> root, K key, boolean asc) {
+        var entries = new ArrayList<Entry<K, T>>();
+        iterator(root, null, false, null, false, asc).forEachRemaining(entry -> {
+            if (!Objects.equals(entry.getKey(), key)) {
+                entries.add(entry);
+            }
+        });
+        return entries;
+    }
+
+    public static <K extends Comparable<K>, T>
+    Iterator<Entry<K, T>> iterator(RadixNode<K, T> root,
+                                   byte[] low,
+                                   boolean lowInclusive,
+                                   byte[] high,
+                                   boolean highInclusive,
+                                   boolean asc) {
+        return new RadixNodeIterator<>(root, low, lowInclusive, high, highInclusive, asc);
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> toList(Iterator<Entry<K, T>> iterator) {
+        var entries = new ArrayList<Entry<K, T>>();
+        iterator.forEachRemaining(entries::add);
+        return entries;
+    }
+
+    public static <K extends Comparable<K>, T>
+    Entry<K, T> toEntry(RadixNode<K, T> node) {
+        // The root holds the null key
+        return new AbstractMap.SimpleImmutableEntry<>(node.getKey(), node.getValue());
+    }
+
+    public static <K extends Comparable<K>, T>
+    int countNodes(RadixNode<K, T> root, boolean emptyOnly) {
+        int count = 0;
+        var nodes = new ArrayDeque<RadixNode<K, T>>();
+        nodes.push(root);
+
+        while (!nodes.isEmpty()) {
+            var node = nodes.pop();
+
+            if (!emptyOnly || isNull(node.getValue())) {
+                count++;
+            }
+
+            for (int i = 0; i < node.getChildCount(); i++) {
+                nodes.push(node.getChild(i));
+            }
+        }
+
+        return count;
+    }
+
+    public static <K extends Comparable<K>, T>
+    int depth(RadixNode<K, T> root) {
+        int depth = 0;
+        var nodes = new ArrayDeque<RadixNode<K, T>>();
+        var levels = new ArrayDeque<Integer>();
+        nodes.push(root);
+        levels.push(0);
+
+        while (!nodes.isEmpty()) {
+            var node = nodes.pop();
+            int level = levels.pop();
+            depth = Math.max(depth, level);
+
+            for (int i = 0; i < node.getChildCount(); i++) {
+                nodes.push(node.getChild(i));
+                levels.push(level + 1);
+            }
+        }
+
+        return depth;
+    }
+
+    private static <K extends Comparable<K>, T>
+    boolean matches(RadixNode<K, T> child, byte[] bytes, int from) {
+        return child.getDepth() <= bytes.length &&
+                Arrays.equals(bytes, from, child.getDepth(), child.getPath(), from, child.getDepth());
+    }
+
+    private static int commonPrefix(byte[] a, byte[] b, int from, int to) {
+        int i = from;
+
+        while (i < to && a[i] == b[i]) {
+            i++;
+        }
+
+        return i;
+    }
+}
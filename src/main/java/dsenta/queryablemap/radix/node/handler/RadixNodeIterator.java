@@ -0,0 +1,167 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.radix.node.handler;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+import dsenta.queryablemap.radix.node.model.RadixNode;
+import lombok.AllArgsConstructor;
+
+public class RadixNodeIterator<K extends Comparable<K>, T> implements Iterator<Entry<K, T>> {
+    private static final int SMALLER = -1;
+    private static final int PREFIX = 0;
+    private static final int BIGGER = 1;
+
+    private final byte[] low;
+    private final boolean lowInclusive;
+    private final byte[] high;
+    private final boolean highInclusive;
+    private final boolean asc;
+    private final Deque<Frame<K, T>> frames = new ArrayDeque<>();
+    private Entry<K, T> nextEntry;
+
+    public RadixNodeIterator(RadixNode<K, T> root,
+                             byte[] low,
+                             boolean lowInclusive,
+                             byte[] high,
+                             boolean highInclusive,
+                             boolean asc) {
+        this.low = low;
+        this.lowInclusive = lowInclusive;
+        this.high = high;
+        this.highInclusive = highInclusive;
+        this.asc = asc;
+
+        if (nonNull(root)) {
+            // Empty path is a prefix of every bound, or it is unbounded
+            frames.push(new Frame<>(root, isNull(low) ? BIGGER : PREFIX, isNull(high) ? SMALLER : PREFIX, false));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (isNull(nextEntry)) {
+            nextEntry = advance();
+        }
+
+        return nonNull(nextEntry);
+    }
+
+    @Override
+    public Entry<K, T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var result = nextEntry;
+        nextEntry = null;
+
+        return result;
+    }
+
+    private Entry<K, T> advance() {
+        while (!frames.isEmpty()) {
+            var frame = frames.pop();
+
+            if (asc) {
+                // Node comes before all of its children
+                pushChildren(frame);
+            } else if (!frame.expanded) {
+                // Node comes after all of its children
+                frame.expanded = true;
+                frames.push(frame);
+                pushChildren(frame);
+                continue;
+            }
+
+            if (nonNull(frame.node.getValue()) && inRange(frame)) {
+                return RadixNodeHandler.toEntry(frame.node);
+            }
+        }
+
+        return null;
+    }
+
+    private void pushChildren(Frame<K, T> frame) {
+        int count = frame.node.getChildCount();
+
+        // Children are already sorted, pushed so the next one in order ends up on top
+        for (int i = 0; i < count; i++) {
+            var child = frame.node.getChild(asc ? count - 1 - i : i);
+            int lowState = childState(frame.lowState, low, frame.node.getDepth(), child);
+            int highState = childState(frame.highState, high, frame.node.getDepth(), child);
+
+            if (lowState != SMALLER && highState != BIGGER) {
+                frames.push(new Frame<>(child, lowState, highState, false));
+            }
+        }
+    }
+
+    private boolean inRange(Frame<K, T> frame) {
+        int depth = frame.node.getDepth();
+        boolean lowOk = frame.lowState == BIGGER ||
+                (frame.lowState == PREFIX && depth == low.length && lowInclusive);
+        boolean highOk = frame.highState == SMALLER ||
+                (frame.highState == PREFIX && (depth < high.length || highInclusive));
+
+        return lowOk && highOk;
+    }
+
+    // Compares the child's edge label with the bound, a path running past the end of the bound is bigger
+    private static <K extends Comparable<K>, T>
+    int childState(int parentState, byte[] bound, int from, RadixNode<K, T> child) {
+        if (parentState != PREFIX) {
+            return parentState;
+        }
+
+        for (int i = from; i < child.getDepth(); i++) {
+            if (i >= bound.length) {
+                return BIGGER;
+            }
+
+            int compared = Integer.compare(child.symbolAt(i), Byte.toUnsignedInt(bound[i]));
+
+            if (compared != 0) {
+                return Integer.signum(compared);
+            }
+        }
+
+        return PREFIX;
+    }
+
+    @AllArgsConstructor
+    private static class Frame<K extends Comparable<K>, T> {
+        RadixNode<K, T> node;
+        int lowState;
+        int highState;
+        boolean expanded;
+    }
+}
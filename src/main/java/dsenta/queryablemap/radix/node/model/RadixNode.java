@@ -0,0 +1,158 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.radix.node.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+public class RadixNode<K extends Comparable<K>, T> implements Serializable {
+    private static final long serialVersionUID = 2470813592147601865L;
+    private static final byte[] NO_BYTES = new byte[0];
+    private static final RadixNode<?, ?>[] NO_CHILDREN = new RadixNode<?, ?>[0];
+
+    // Encoding of some key whose first depth bytes spell the path from the root to this node,
+    // so the edge label is path[parent.depth, depth) and is never copied
+    private final byte[] path;
+    private final int depth;
+    @Setter
+    private K key;
+    private T value;
+    // Children sorted by the first unsigned byte of their edge label
+    private byte[] firsts = NO_BYTES;
+    private RadixNode<K, T>[] children = noChildren();
+
+    public RadixNode(byte[] path, int depth) {
+        this.path = path;
+        this.depth = depth;
+    }
+
+    public static <K extends Comparable<K>, T>
+    RadixNode<K, T> of(byte[] path, K key, T value) {
+        var node = new RadixNode<K, T>(path, path.length);
+        node.key = key;
+        node.value = value;
+        return node;
+    }
+
+    public static <K extends Comparable<K>, T>
+    RadixNode<K, T> empty() {
+        return new RadixNode<>(NO_BYTES, 0);
+    }
+
+    public T setValue(T value) {
+        T oldValue = this.value;
+        this.value = value;
+        return oldValue;
+    }
+
+    public int getChildCount() {
+        return children.length;
+    }
+
+    public RadixNode<K, T> getChild(int index) {
+        return children[index];
+    }
+
+    // Byte of the path at index, 0 to 255
+    public int symbolAt(int index) {
+        return Byte.toUnsignedInt(path[index]);
+    }
+
+    // Binary search over unsigned bytes, negative insertion point minus one when missing
+    public int indexOf(int symbol) {
+        int low = 0;
+        int high = firsts.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int current = Byte.toUnsignedInt(firsts[middle]);
+
+            if (current < symbol) {
+                low = middle + 1;
+            } else if (current > symbol) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -low - 1;
+    }
+
+    public void setChild(int index, RadixNode<K, T> child) {
+        children[index] = child;
+    }
+
+    public void insertChild(int index, RadixNode<K, T> child) {
+        int count = children.length;
+        var newFirsts = new byte[count + 1];
+        RadixNode<K, T>[] newChildren = Arrays.copyOf(children, count + 1);
+
+        System.arraycopy(firsts, 0, newFirsts, 0, index);
+        System.arraycopy(firsts, index, newFirsts, index + 1, count - index);
+        System.arraycopy(children, index, newChildren, index + 1, count - index);
+        newFirsts[index] = child.path[depth];
+        newChildren[index] = child;
+
+        firsts = newFirsts;
+        children = newChildren;
+    }
+
+    public void removeChild(int index) {
+        int count = children.length - 1;
+
+        if (count == 0) {
+            firsts = NO_BYTES;
+            children = noChildren();
+            return;
+        }
+
+        var newFirsts = new byte[count];
+        RadixNode<K, T>[] newChildren = Arrays.copyOf(children, count);
+
+        System.arraycopy(firsts, 0, newFirsts, 0, index);
+        System.arraycopy(firsts, index + 1, newFirsts, index, count - index);
+        System.arraycopy(children, index + 1, newChildren, index, count - index);
+
+        firsts = newFirsts;
+        children = newChildren;
+    }
+
+    public void clear() {
+        key = null;
+        value = null;
+        firsts = NO_BYTES;
+        children = noChildren();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>, T>
+    RadixNode<K, T>[] noChildren() {
+        return (RadixNode<K, T>[]) NO_CHILDREN;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.trie;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import dsenta.queryablemap.codec.KeyCodec;
+import dsenta.queryablemap.trie.node.handler.TrieNodeHandler;
+import dsenta.queryablemap.trie.node.model.ConcurrentTrieNode;
+
+public class ConcurrentTrie<K extends Comparable<K>, T> extends Trie<K, T> {
+    private static final long serialVersionUID = -4470328733917390227L;
+    private final AtomicInteger count = new AtomicInteger();
+    // Readers never lock. Inserts only add nodes, so they share the lock with each other,
+    // removes prune nodes and must not race an insert descending into a pruned branch.
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+
+    // Keys sort by their string form
+    public ConcurrentTrie() {
+        this(KeyCodec.ofStringForm());
+    }
+
+    public ConcurrentTrie(KeyCodec<K> codec) {
+        super(ConcurrentTrieNode.empty(), codec);
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return count.get() + 1;
+    }
+
+    @Override
+    public int getNumberOfEmptyNodes() {
+        return count.get() + 1;
+    }
+
+    @Override
+    public String getName() {
+        return "concurrentTrie";
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public T put(K key, T value) {
+        structureLock.readLock().lock();
+        try {
+            T oldValue = TrieNodeHandler.insert(root, encode(key), key, value);
+
+            if (isNull(oldValue)) {
+                count.incrementAndGet();
+            }
+
+            return oldValue;
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(Object key) {
+        structureLock.writeLock().lock();
+        try {
+            T value = TrieNodeHandler.delete(root, encode((K) key));
+
+            if (nonNull(value)) {
+                count.decrementAndGet();
+            }
+
+            return value;
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        structureLock.writeLock().lock();
+        try {
+            root.clearChildren();
+            // Same as remove, a lock-free reader that already saw the value still finds its key
+            root.removeEntry();
+            count.set(0);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+}
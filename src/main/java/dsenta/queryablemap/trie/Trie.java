@@ -27,20 +27,38 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 import java.io.Serializable;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import dsenta.queryablemap.QueryableMap;
+import dsenta.queryablemap.codec.KeyCodec;
 import dsenta.queryablemap.trie.node.handler.TrieNodeHandler;
 import dsenta.queryablemap.trie.node.model.TrieNode;
 
 public class Trie<K extends Comparable<K>, T> implements QueryableMap<K, T>, Serializable {
     private static final long serialVersionUID = 6308320094740168730L;
-    private final TrieNode<K, T> root = TrieNode.empty();
+    private static final byte[] EMPTY = new byte[0];
+    protected final TrieNode<K, T> root;
+    private final KeyCodec<K> codec;
     private int count;
 
+    // Keys sort by their string form
+    public Trie() {
+        this(KeyCodec.ofStringForm());
+    }
+
+    public Trie(KeyCodec<K> codec) {
+        this(TrieNode.empty(), codec);
+    }
+
+    protected Trie(TrieNode<K, T> root, KeyCodec<K> codec) {
+        this.root = root;
+        this.codec = codec;
+    }
+
     @Override
     public int getNumberOfNodes() {
         return count + 1;
@@ -63,88 +81,124 @@ public class Trie<K extends Comparable<K>, T> implements QueryableMap<K, T>, Ser
 
     @Override
     public Entry<K, T> getByKey(K key) {
-        var value = TrieNodeHandler.getByKey(root, key);
+        var value = TrieNodeHandler.getByKey(root, encode(key));
         return isNull(value) ? null : Map.entry(key, value);
     }
 
     @Override
     public List<Entry<K, T>> getBiggerThanAsc(K key) {
-        return TrieNodeHandler.getBiggerThan(root, key, true);
+        return TrieNodeHandler.toList(iterateBiggerThan(key, true));
     }
 
     @Override
     public List<Entry<K, T>> getBiggerThanDesc(K key) {
-        return TrieNodeHandler.getBiggerThan(root, key, false);
+        return TrieNodeHandler.toList(iterateBiggerThan(key, false));
     }
 
     @Override
     public List<Entry<K, T>> getLessThanAsc(K key) {
-        return TrieNodeHandler.getLessThan(root, key, true);
+        return TrieNodeHandler.toList(iterateLessThan(key, true));
     }
 
     @Override
     public List<Entry<K, T>> getLessThanDesc(K key) {
-        return TrieNodeHandler.getLessThan(root, key, false);
+        return TrieNodeHandler.toList(iterateLessThan(key, false));
     }
 
     @Override
     public List<Entry<K, T>> getBiggerThanEqualsAsc(K key) {
-        return TrieNodeHandler.getBiggerThanEquals(root, key, true);
+        return TrieNodeHandler.toList(iterateBiggerThanEquals(key, true));
     }
 
     @Override
     public List<Entry<K, T>> getBiggerThanEqualsDesc(K key) {
-        return TrieNodeHandler.getBiggerThanEquals(root, key, false);
+        return TrieNodeHandler.toList(iterateBiggerThanEquals(key, false));
     }
 
     @Override
     public List<Entry<K, T>> getLessThanEqualsAsc(K key) {
-        return TrieNodeHandler.getLessThanEquals(root, key, true);
+        return TrieNodeHandler.toList(iterateLessThanEquals(key, true));
     }
 
     @Override
     public List<Entry<K, T>> getLessThanEqualsDesc(K key) {
-        return TrieNodeHandler.getLessThanEquals(root, key, false);
+        return TrieNodeHandler.toList(iterateLessThanEquals(key, false));
     }
 
     @Override
     public List<Entry<K, T>> getBetweenAsc(K low, K high) {
-        return TrieNodeHandler.getBetween(root, low, high, true);
+        return TrieNodeHandler.toList(iterateBetween(low, high, true));
     }
 
     @Override
     public List<Entry<K, T>> getBetweenDesc(K low, K high) {
-        return TrieNodeHandler.getBetween(root, low, high, false);
+        return TrieNodeHandler.toList(iterateBetween(low, high, false));
     }
 
     @Override
     public List<Entry<K, T>> getNotEqualsAsc(K key) {
-        return TrieNodeHandler.getNotEquals(root, key, true);
+        return TrieNodeHandler.getNotEquals(iterate(true), key);
     }
 
     @Override
     public List<Entry<K, T>> getNotEqualsDesc(K key) {
-        return TrieNodeHandler.getNotEquals(root, key, false);
+        return TrieNodeHandler.getNotEquals(iterate(false), key);
     }
 
     @Override
     public List<Entry<K, T>> getAsc() {
-        return TrieNodeHandler.get(root, true);
+        return TrieNodeHandler.toList(iterate(true));
     }
 
     @Override
     public List<Entry<K, T>> getDesc() {
-        return TrieNodeHandler.get(root, false);
+        return TrieNodeHandler.toList(iterate(false));
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterate(boolean asc) {
+        return TrieNodeHandler.iterator(root, null, false, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThan(K key, boolean asc) {
+        return TrieNodeHandler.iterator(root, encode(key), false, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThanEquals(K key, boolean asc) {
+        return TrieNodeHandler.iterator(root, encode(key), true, null, false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThan(K key, boolean asc) {
+        return TrieNodeHandler.iterator(root, null, false, encode(key), false, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThanEquals(K key, boolean asc) {
+        return TrieNodeHandler.iterator(root, null, false, encode(key), true, asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBetween(K low, K high, boolean asc) {
+        return TrieNodeHandler.iterator(root, encode(low), true, encode(high), true, asc);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        // Keys are walked byte by byte of their encoding
+        return (a, b) -> Arrays.compareUnsigned(encode(a), encode(b));
     }
 
     @Override
     public K getMin() {
-        return TrieNodeHandler.getMin(root);
+        return TrieNodeHandler.firstKey(iterate(true));
     }
 
     @Override
     public K getMax() {
-        return TrieNodeHandler.getMax(root);
+        return TrieNodeHandler.firstKey(iterate(false));
     }
 
     @Override
@@ -158,9 +212,9 @@ public class Trie<K extends Comparable<K>, T> implements QueryableMap<K, T>, Ser
     }
 
     @Override
-    @SuppressWarnings("unchecked cast")
+    @SuppressWarnings("unchecked")
     public boolean containsKey(Object key) {
-        return nonNull(TrieNodeHandler.getByKey(root, (K) key));
+        return nonNull(TrieNodeHandler.getByKey(root, encode((K) key)));
     }
 
     @Override
@@ -169,14 +223,14 @@ public class Trie<K extends Comparable<K>, T> implements QueryableMap<K, T>, Ser
     }
 
     @Override
-    @SuppressWarnings("unchecked cast")
+    @SuppressWarnings("unchecked")
     public T get(Object key) {
-        return TrieNodeHandler.getByKey(root, (K) key);
+        return TrieNodeHandler.getByKey(root, encode((K) key));
     }
 
     @Override
     public synchronized T put(K key, T value) {
-        T oldValue = TrieNodeHandler.insert(root, key, value);
+        T oldValue = TrieNodeHandler.insert(root, encode(key), key, value);
 
         if (isNull(oldValue)) {
             count++;
@@ -186,9 +240,9 @@ public class Trie<K extends Comparable<K>, T> implements QueryableMap<K, T>, Ser
     }
 
     @Override
-    @SuppressWarnings("unchecked cast")
+    @SuppressWarnings("unchecked")
     public T remove(Object key) {
-        T value = TrieNodeHandler.delete(root, (K) key);
+        T value = TrieNodeHandler.delete(root, encode((K) key));
 
         if (nonNull(value)) {
             count--;
@@ -204,24 +258,13 @@ public class Trie<K extends Comparable<K>, T> implements QueryableMap<K, T>, Ser
 
     @Override
     public void clear() {
-        this.root.getNext().clear();
-        this.root.setKey(null);
-        this.root.setValue(null);
+        this.root.clearChildren();
+        this.root.removeEntry();
         this.count = 0;
     }
 
-    @Override
-    public Set<K> keySet() {
-        return TrieNodeHandler.keySet(root);
-    }
-
-    @Override
-    public Collection<T> values() {
-        return TrieNodeHandler.values(root);
-    }
-
-    @Override
-    public Set<Entry<K, T>> entrySet() {
-        return TrieNodeHandler.entrySet(root);
+    // The null key lives in the root, same as a key whose encoding is empty
+    protected byte[] encode(K key) {
+        return isNull(key) ? EMPTY : codec.encode(key);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,174 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.trie.node.handler;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+import dsenta.queryablemap.trie.node.model.TrieNode;
+import lombok.AllArgsConstructor;
+
+public class TrieNodeIterator<K extends Comparable<K>, T> implements Iterator<Entry<K, T>> {
+    private static final int SMALLER = -1;
+    private static final int PREFIX = 0;
+    private static final int BIGGER = 1;
+
+    private final byte[] low;
+    private final boolean lowInclusive;
+    private final byte[] high;
+    private final boolean highInclusive;
+    private final boolean asc;
+    private final Deque<Frame<K, T>> frames = new ArrayDeque<>();
+    private Entry<K, T> nextEntry;
+
+    public TrieNodeIterator(TrieNode<K, T> root,
+                            byte[] low,
+                            boolean lowInclusive,
+                            byte[] high,
+                            boolean highInclusive,
+                            boolean asc) {
+        this.low = low;
+        this.lowInclusive = lowInclusive;
+        this.high = high;
+        this.highInclusive = highInclusive;
+        this.asc = asc;
+
+        if (nonNull(root)) {
+            // Empty path is a prefix of every bound, or it is unbounded
+            frames.push(new Frame<>(root, 0, isNull(low) ? BIGGER : PREFIX, isNull(high) ? SMALLER : PREFIX, false));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (isNull(nextEntry)) {
+            nextEntry = advance();
+        }
+
+        return nonNull(nextEntry);
+    }
+
+    @Override
+    public Entry<K, T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var result = nextEntry;
+        nextEntry = null;
+
+        return result;
+    }
+
+    private Entry<K, T> advance() {
+        while (!frames.isEmpty()) {
+            var frame = frames.pop();
+
+            if (asc) {
+                // Node comes before all of its children
+                pushChildren(frame);
+            } else if (!frame.expanded) {
+                // Node comes after all of its children
+                frame.expanded = true;
+                frames.push(frame);
+                pushChildren(frame);
+                continue;
+            }
+
+            if (inRange(frame)) {
+                var entry = frame.node.copy();
+
+                if (nonNull(entry)) {
+                    return entry;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void pushChildren(Frame<K, T> frame) {
+        var children = frame.node.getChildren();
+        int from = 0;
+        int to = children.size() - 1;
+
+        // Children are sorted, so the ones outside of the bounds are cut off up front
+        if (frame.lowState == PREFIX && frame.depth < low.length) {
+            from = children.ceilingIndex(Byte.toUnsignedInt(low[frame.depth]));
+        }
+
+        if (frame.highState == PREFIX) {
+            to = frame.depth < high.length ? children.floorIndex(Byte.toUnsignedInt(high[frame.depth])) : -1;
+        }
+
+        // Pushed in reverse so the next one in order ends up on top
+        for (int i = 0; i <= to - from; i++) {
+            int index = asc ? to - i : from + i;
+            int symbol = children.symbolAt(index);
+            int lowState = childState(frame.lowState, low, frame.depth, symbol);
+            int highState = childState(frame.highState, high, frame.depth, symbol);
+
+            if (lowState != SMALLER && highState != BIGGER) {
+                frames.push(new Frame<>(children.nodeAt(index), frame.depth + 1, lowState, highState, false));
+            }
+        }
+    }
+
+    private boolean inRange(Frame<K, T> frame) {
+        boolean lowOk = frame.lowState == BIGGER ||
+                (frame.lowState == PREFIX && frame.depth == low.length && lowInclusive);
+        boolean highOk = frame.highState == SMALLER ||
+                (frame.highState == PREFIX && (frame.depth < high.length || highInclusive));
+
+        return lowOk && highOk;
+    }
+
+    private static int childState(int parentState, byte[] bound, int depth, int symbol) {
+        if (parentState != PREFIX) {
+            return parentState;
+        }
+
+        if (depth >= bound.length) {
+            // Path already equals bound, any extension is bigger
+            return BIGGER;
+        }
+
+        return Integer.signum(Integer.compare(symbol, Byte.toUnsignedInt(bound[depth])));
+    }
+
+    @AllArgsConstructor
+    private static class Frame<K extends Comparable<K>, T> {
+        TrieNode<K, T> node;
+        int depth;
+        int lowState;
+        int highState;
+        boolean expanded;
+    }
+}
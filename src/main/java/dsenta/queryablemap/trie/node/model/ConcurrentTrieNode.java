@@ -0,0 +1,92 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.trie.node.model;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+public class ConcurrentTrieNode<K extends Comparable<K>, T> extends TrieNode<K, T> {
+    private static final long serialVersionUID = 2270786367394717349L;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentTrieNode, Object> VALUE =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentTrieNode.class, Object.class, "value");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentTrieNode, TrieChildren> CHILDREN =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentTrieNode.class, TrieChildren.class, "children");
+    private volatile K key;
+    private volatile T value;
+    // Concurrent inserts race on the same node, the loser retries against the winner's children
+    private volatile TrieChildren<K, T> children = TrieChildren.empty();
+
+    public ConcurrentTrieNode() {
+        super(null, null);
+    }
+
+    public static <K extends Comparable<K>, T>
+    ConcurrentTrieNode<K, T> empty() {
+        return new ConcurrentTrieNode<>();
+    }
+
+    @Override
+    public TrieNode<K, T> newChild() {
+        return ConcurrentTrieNode.empty();
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public void setKey(K key) {
+        this.key = key;
+    }
+
+    @Override
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T setValue(T value) {
+        return (T) VALUE.getAndSet(this, value);
+    }
+
+    @Override
+    public T removeEntry() {
+        // Key stays, a lock-free reader that already saw the value reads the key next.
+        // Any key written here later has the same encoding, so it is the same key.
+        return setValue(null);
+    }
+
+    @Override
+    public TrieChildren<K, T> getChildren() {
+        return children;
+    }
+
+    @Override
+    protected boolean replaceChildren(TrieChildren<K, T> expected, TrieChildren<K, T> children) {
+        return CHILDREN.compareAndSet(this, expected, children);
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.trie.node.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+// Children sorted by their unsigned key byte, never mutated so a node can swap them in one write
+public final class TrieChildren<K extends Comparable<K>, T> implements Serializable {
+    private static final long serialVersionUID = -3318075427925418731L;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final TrieChildren<?, ?> EMPTY = new TrieChildren<>(new byte[0], new TrieNode[0]);
+    private final byte[] symbols;
+    private final TrieNode<K, T>[] nodes;
+
+    private TrieChildren(byte[] symbols, TrieNode<K, T>[] nodes) {
+        this.symbols = symbols;
+        this.nodes = nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<K>, T>
+    TrieChildren<K, T> empty() {
+        return (TrieChildren<K, T>) EMPTY;
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    public boolean isEmpty() {
+        return symbols.length == 0;
+    }
+
+    // Key byte of the child at index, 0 to 255
+    public int symbolAt(int index) {
+        return Byte.toUnsignedInt(symbols[index]);
+    }
+
+    public TrieNode<K, T> nodeAt(int index) {
+        return nodes[index];
+    }
+
+    // Index of symbol, or the negative insertion point minus one
+    public int indexOf(int symbol) {
+        int low = 0;
+        int high = symbols.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int current = Byte.toUnsignedInt(symbols[middle]);
+
+            if (current < symbol) {
+                low = middle + 1;
+            } else if (current > symbol) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -low - 1;
+    }
+
+    public TrieNode<K, T> get(int symbol) {
+        int index = indexOf(symbol);
+        return index >= 0 ? nodes[index] : null;
+    }
+
+    // First index whose symbol is at least symbol
+    public int ceilingIndex(int symbol) {
+        int index = indexOf(symbol);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    // Last index whose symbol is at most symbol, -1 when there is none
+    public int floorIndex(int symbol) {
+        int index = indexOf(symbol);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public TrieChildren<K, T> with(int index, int symbol, TrieNode<K, T> node) {
+        int size = symbols.length;
+        var newSymbols = new byte[size + 1];
+        var newNodes = Arrays.copyOf(nodes, size + 1);
+        System.arraycopy(symbols, 0, newSymbols, 0, index);
+        System.arraycopy(symbols, index, newSymbols, index + 1, size - index);
+        System.arraycopy(nodes, index, newNodes, index + 1, size - index);
+        newSymbols[index] = (byte) symbol;
+        newNodes[index] = node;
+
+        return new TrieChildren<>(newSymbols, newNodes);
+    }
+
+    public TrieChildren<K, T> without(int index) {
+        int size = symbols.length;
+
+        if (size == 1) {
+            return empty();
+        }
+
+        var newSymbols = new byte[size - 1];
+        var newNodes = Arrays.copyOf(nodes, size - 1);
+        System.arraycopy(symbols, 0, newSymbols, 0, index);
+        System.arraycopy(symbols, index + 1, newSymbols, index, size - index - 1);
+        System.arraycopy(nodes, index + 1, newNodes, index, size - index - 1);
+
+        return new TrieChildren<>(newSymbols, newNodes);
+    }
+}
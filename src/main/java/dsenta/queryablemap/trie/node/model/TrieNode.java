@@ -26,20 +26,24 @@ package dsenta.queryablemap.trie.node.model;
 import static java.util.Objects.isNull;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
 @Data
-@AllArgsConstructor
 public class TrieNode<K extends Comparable<K>, T> implements Entry<K, T>, Serializable {
     private static final long serialVersionUID = -1371258515026817545L;
     private K key;
     private T value;
-    private final Map<Character, TrieNode<K, T>> next = new HashMap<>();
+    @Setter(AccessLevel.NONE)
+    private TrieChildren<K, T> children = TrieChildren.empty();
+
+    public TrieNode(K key, T value) {
+        this.key = key;
+        this.value = value;
+    }
 
     public static <K extends Comparable<K>, T>
     TrieNode<K, T> of(K key, T value) {
@@ -51,6 +55,54 @@ public class TrieNode<K extends Comparable<K>, T> implements Entry<K, T>, Serial
         return new TrieNode<>(null, null);
     }
 
+    public TrieNode<K, T> newChild() {
+        return TrieNode.empty();
+    }
+
+    // Swaps in a new set of children, false if they changed since expected was read
+    protected boolean replaceChildren(TrieChildren<K, T> expected, TrieChildren<K, T> children) {
+        this.children = children;
+        return true;
+    }
+
+    public TrieNode<K, T> getChild(int symbol) {
+        return getChildren().get(symbol);
+    }
+
+    public TrieNode<K, T> getOrAddChild(int symbol) {
+        while (true) {
+            var current = getChildren();
+            int index = current.indexOf(symbol);
+
+            if (index >= 0) {
+                return current.nodeAt(index);
+            }
+
+            var child = newChild();
+
+            if (replaceChildren(current, current.with(-index - 1, symbol, child))) {
+                return child;
+            }
+        }
+    }
+
+    public void removeChild(int symbol) {
+        while (true) {
+            var current = getChildren();
+            int index = current.indexOf(symbol);
+
+            if (index < 0 || replaceChildren(current, current.without(index))) {
+                return;
+            }
+        }
+    }
+
+    public void clearChildren() {
+        while (!replaceChildren(getChildren(), TrieChildren.empty())) {
+            // Retry until no insert slips in between
+        }
+    }
+
     @Override
     public T setValue(T value) {
         T oldValue = this.value;
@@ -58,15 +110,24 @@ public class TrieNode<K extends Comparable<K>, T> implements Entry<K, T>, Serial
         return oldValue;
     }
 
+    // Drops the entry of this node and returns its value
+    public T removeEntry() {
+        T oldValue = setValue(null);
+        setKey(null);
+        return oldValue;
+    }
+
+    // Null when there is no value. Value is read first, a key is always written before its value
     public Entry<K, T> copy() {
-        return TrieNode.of(key, value);
+        T value = getValue();
+        return isNull(value) ? null : TrieNode.of(getKey(), value);
     }
 
     public boolean hasNext() {
-        return !next.isEmpty();
+        return !getChildren().isEmpty();
     }
 
     public boolean isEmpty() {
-        return isNull(value) && next.isEmpty();
+        return isNull(getValue()) && getChildren().isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb;
+
+import java.io.Serializable;
+
+public class IntWhiteGreyBlackTree<T> implements Serializable {
+    private static final long serialVersionUID = 8723047137601296113L;
+    // int keys widen to long without changing their order
+    private final LongWhiteGreyBlackTree<T> tree;
+
+    public IntWhiteGreyBlackTree() {
+        this.tree = new LongWhiteGreyBlackTree<>();
+    }
+
+    public IntWhiteGreyBlackTree(int firstPrime) {
+        this.tree = new LongWhiteGreyBlackTree<>(firstPrime);
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    public boolean isEmpty() {
+        return tree.isEmpty();
+    }
+
+    public int depth() {
+        return tree.depth();
+    }
+
+    public boolean containsKey(int key) {
+        return tree.containsKey(key);
+    }
+
+    public T get(int key) {
+        return tree.get(key);
+    }
+
+    public T put(int key, T value) {
+        return tree.put(key, value);
+    }
+
+    public T remove(int key) {
+        return tree.remove(key);
+    }
+
+    public void clear() {
+        tree.clear();
+    }
+
+    public int getMin() {
+        return (int) tree.getMin();
+    }
+
+    public int getMax() {
+        return (int) tree.getMax();
+    }
+
+    public IntCursor<T> cursor(boolean asc) {
+        return new IntCursor<>(tree.cursor(asc));
+    }
+
+    public IntCursor<T> cursorBiggerThan(int key, boolean asc) {
+        return new IntCursor<>(tree.cursorBiggerThan(key, asc));
+    }
+
+    public IntCursor<T> cursorBiggerThanEquals(int key, boolean asc) {
+        return new IntCursor<>(tree.cursorBiggerThanEquals(key, asc));
+    }
+
+    public IntCursor<T> cursorLessThan(int key, boolean asc) {
+        return new IntCursor<>(tree.cursorLessThan(key, asc));
+    }
+
+    public IntCursor<T> cursorLessThanEquals(int key, boolean asc) {
+        return new IntCursor<>(tree.cursorLessThanEquals(key, asc));
+    }
+
+    public IntCursor<T> cursorBetween(int low, int high, boolean asc) {
+        return new IntCursor<>(tree.cursorBetween(low, high, asc));
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb;
+
+import java.util.NoSuchElementException;
+
+import dsenta.queryablemap.wgb.node.util.LongEntryBuffer;
+
+public class LongCursor<T> {
+    private final LongEntryBuffer<T> buffer;
+    private final boolean asc;
+    private int position;
+
+    LongCursor(LongEntryBuffer<T> buffer, boolean asc) {
+        this.buffer = buffer;
+        this.asc = asc;
+        this.position = asc ? -1 : buffer.size();
+    }
+
+    public boolean next() {
+        position = asc ? Math.min(position + 1, buffer.size()) : Math.max(position - 1, -1);
+        return position >= 0 && position < buffer.size();
+    }
+
+    public long key() {
+        checkPosition();
+        return buffer.getKey(position);
+    }
+
+    public T value() {
+        checkPosition();
+        return buffer.getValue(position);
+    }
+
+    private void checkPosition() {
+        if (position < 0 || position >= buffer.size()) {
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import dsenta.queryablemap.wgb.node.handler.LongGreyNodeHandler;
+import dsenta.queryablemap.wgb.node.handler.LongWgbNodeHandler;
+import dsenta.queryablemap.wgb.node.model.LongGreyNode;
+import dsenta.queryablemap.wgb.node.util.LongEntryBuffer;
+import dsenta.queryablemap.wgb.node.util.PrimeConstants;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class LongWhiteGreyBlackTree<T> implements Serializable {
+    private static final long serialVersionUID = -3197519416446264447L;
+    private int count;
+    private LongGreyNode<T> greyNode;
+    private int firstPrime = PrimeConstants.FIRST_PRIME;
+
+    public LongWhiteGreyBlackTree(int firstPrime) {
+        this.firstPrime = firstPrime;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    public synchronized int depth() {
+        return LongWgbNodeHandler.depth(greyNode);
+    }
+
+    public synchronized boolean containsKey(long key) {
+        return nonNull(LongWgbNodeHandler.find(greyNode, key));
+    }
+
+    public synchronized T get(long key) {
+        var node = LongWgbNodeHandler.find(greyNode, key);
+        return isNull(node) ? null : node.getValue();
+    }
+
+    public synchronized T put(long key, T value) {
+        Objects.requireNonNull(value);
+        var existing = LongWgbNodeHandler.find(greyNode, key);
+
+        if (nonNull(existing)) {
+            T oldValue = existing.getValue();
+            existing.setValue(value);
+            return oldValue;
+        }
+
+        greyNode = LongGreyNodeHandler.insert(greyNode, firstPrime, key, value);
+        count++;
+
+        return null;
+    }
+
+    public synchronized T remove(long key) {
+        var existing = LongWgbNodeHandler.find(greyNode, key);
+
+        if (isNull(existing)) {
+            return null;
+        }
+
+        T oldValue = existing.getValue();
+        greyNode = LongGreyNodeHandler.delete(greyNode, key);
+        count--;
+
+        return oldValue;
+    }
+
+    public synchronized void clear() {
+        greyNode = null;
+        count = 0;
+    }
+
+    public synchronized long getMin() {
+        if (isNull(greyNode)) {
+            throw new NoSuchElementException();
+        }
+
+        return LongGreyNodeHandler.getMin(greyNode).getKey();
+    }
+
+    public synchronized long getMax() {
+        if (isNull(greyNode)) {
+            throw new NoSuchElementException();
+        }
+
+        return LongGreyNodeHandler.getMax(greyNode).getKey();
+    }
+
+    public LongCursor<T> cursor(boolean asc) {
+        return cursorBetween(Long.MIN_VALUE, Long.MAX_VALUE, asc);
+    }
+
+    public LongCursor<T> cursorBiggerThan(long key, boolean asc) {
+        return key == Long.MAX_VALUE ? empty(asc) : cursorBetween(key + 1, Long.MAX_VALUE, asc);
+    }
+
+    public LongCursor<T> cursorBiggerThanEquals(long key, boolean asc) {
+        return cursorBetween(key, Long.MAX_VALUE, asc);
+    }
+
+    public LongCursor<T> cursorLessThan(long key, boolean asc) {
+        return key == Long.MIN_VALUE ? empty(asc) : cursorBetween(Long.MIN_VALUE, key - 1, asc);
+    }
+
+    public LongCursor<T> cursorLessThanEquals(long key, boolean asc) {
+        return cursorBetween(Long.MIN_VALUE, key, asc);
+    }
+
+    public synchronized LongCursor<T> cursorBetween(long low, long high, boolean asc) {
+        var buffer = new LongEntryBuffer<T>();
+
+        if (nonNull(greyNode) && low <= high) {
+            LongGreyNodeHandler.collect(greyNode, low, high, buffer);
+        }
+
+        return new LongCursor<>(buffer, asc);
+    }
+
+    private LongCursor<T> empty(boolean asc) {
+        return new LongCursor<>(new LongEntryBuffer<>(), asc);
+    }
+}
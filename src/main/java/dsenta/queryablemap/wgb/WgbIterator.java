@@ -0,0 +1,49 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+class WgbIterator<K extends Comparable<K>, T> implements Iterator<Entry<K, T>> {
+    private final WhiteGreyBlackTree<K, T> tree;
+    private final int expectedModCount;
+    private final Iterator<Entry<K, T>> iterator;
+
+    WgbIterator(WhiteGreyBlackTree<K, T> tree, int expectedModCount, Iterator<Entry<K, T>> iterator) {
+        this.tree = tree;
+        this.expectedModCount = expectedModCount;
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return tree.step(expectedModCount, iterator::hasNext);
+    }
+
+    @Override
+    public Entry<K, T> next() {
+        return tree.step(expectedModCount, iterator::next);
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import dsenta.queryablemap.wgb.node.handler.GreyNodeHandler;
+import dsenta.queryablemap.wgb.node.model.GreyNode;
+import dsenta.queryablemap.wgb.node.model.WgbKey;
+import dsenta.queryablemap.wgb.node.model.WgbRange;
+
+public class WgbSpliterator<K extends Comparable<K>, T> implements Spliterator<Entry<K, T>> {
+    private static final long SPLIT_THRESHOLD = 1 << 10;
+    // Every step goes through the tree, which locks it and checks it was not changed meanwhile
+    private final WhiteGreyBlackTree<K, T> tree;
+    private final int expectedModCount;
+    private final GreyNode<K, T> greyNode;
+    private WgbRange<K> range;
+    private long size;
+    private Iterator<Entry<K, T>> iterator;
+
+    WgbSpliterator(WhiteGreyBlackTree<K, T> tree, int expectedModCount, GreyNode<K, T> greyNode, WgbRange<K> range, long size) {
+        this.tree = tree;
+        this.expectedModCount = expectedModCount;
+        this.greyNode = greyNode;
+        this.range = range;
+        this.size = size;
+    }
+
+    private Entry<K, T> nextOrNull() {
+        if (isNull(iterator)) {
+            iterator = GreyNodeHandler.iterator(greyNode, range, true);
+        }
+
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Entry<K, T>> action) {
+        // The action runs outside of the lock
+        var entry = tree.step(expectedModCount, this::nextOrNull);
+
+        if (isNull(entry)) {
+            return false;
+        }
+
+        size--;
+        action.accept(entry);
+
+        return true;
+    }
+
+    @Override
+    public Spliterator<Entry<K, T>> trySplit() {
+        if (nonNull(iterator) || size < SPLIT_THRESHOLD) {
+            return null;
+        }
+
+        return tree.step(expectedModCount, this::split);
+    }
+
+    private Spliterator<Entry<K, T>> split() {
+        // Children of white and black nodes interleave in key order,
+        // so the range is split by key and both halves keep their order
+        WgbKey<K> pivot = GreyNodeHandler.pivot(greyNode, range);
+
+        if (isNull(pivot)) {
+            return null;
+        }
+
+        // Subtree sizes give the exact count of each half
+        var prefixRange = new WgbRange<>(range.getLow(), range.isLowInclusive(), pivot, false);
+        var prefix = new WgbSpliterator<>(tree, expectedModCount, greyNode, prefixRange, GreyNodeHandler.count(greyNode, prefixRange));
+        range = new WgbRange<>(pivot, true, range.getHigh(), range.isHighInclusive());
+        size -= prefix.size;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SORTED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+    }
+
+    @Override
+    public Comparator<? super Entry<K, T>> getComparator() {
+        return Entry.comparingByKey();
+    }
+}
@@ -24,116 +24,366 @@
 package dsenta.queryablemap.wgb;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 import java.io.Serializable;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import javax.validation.constraints.NotNull;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import dsenta.queryablemap.QueryableMap;
-import dsenta.queryablemap.exception.NotFoundException;
-import dsenta.queryablemap.exception.UniqueException;
 import dsenta.queryablemap.wgb.node.handler.GreyNodeHandler;
 import dsenta.queryablemap.wgb.node.handler.WgbNodeHandler;
 import dsenta.queryablemap.wgb.node.model.GreyNode;
 import dsenta.queryablemap.wgb.node.model.WgbData;
 import dsenta.queryablemap.wgb.node.model.WgbKey;
+import dsenta.queryablemap.wgb.node.model.WgbRange;
+import dsenta.queryablemap.wgb.node.model.WgbVersion;
 import dsenta.queryablemap.wgb.node.util.PrimeConstants;
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor
 public class WhiteGreyBlackTree<K extends Comparable<K>, T> implements QueryableMap<K, T>, Serializable {
     private static final long serialVersionUID = 7553380290813734182L;
-    private int count;
-    private GreyNode<K, T> greyNode;
+    private volatile int count;
+    private volatile GreyNode<K, T> greyNode;
     private int firstPrime = PrimeConstants.FIRST_PRIME;
+    private ConcurrencyMode concurrencyMode = ConcurrencyMode.SYNCHRONIZED;
+    // Subtrees with at least this many entries are built and queried on the common fork/join pool, 0 keeps it all sequential
+    private int parallelThreshold;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Bumped by every write that adds or removes a key, lazy iterators check it on each step
+    private transient int modCount;
+
+    public enum ConcurrencyMode {
+        SYNCHRONIZED,
+        READ_WRITE,
+        COPY_ON_WRITE
+    }
 
     public WhiteGreyBlackTree(int firstPrime) {
         this.firstPrime = firstPrime;
     }
 
-    public synchronized void print() {
-        GreyNodeHandler.printDepth(greyNode, 4);
+    public WhiteGreyBlackTree(ConcurrencyMode concurrencyMode) {
+        this.concurrencyMode = concurrencyMode;
     }
 
-    public synchronized Entry<K, T> getByKey(K key) {
-        return WgbNodeHandler.get(greyNode, new WgbKey<>(key));
+    public WhiteGreyBlackTree(int firstPrime, ConcurrencyMode concurrencyMode) {
+        this.firstPrime = firstPrime;
+        this.concurrencyMode = concurrencyMode;
     }
 
-    public synchronized List<Entry<K, T>> getBiggerThanAsc(K key) {
-        return GreyNodeHandler.getBiggerThanAsc(greyNode, new WgbKey<>(key));
+    public WhiteGreyBlackTree(int firstPrime, ConcurrencyMode concurrencyMode, int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException(String.format("Parallel threshold %d must not be negative", parallelThreshold));
+        }
+
+        this.firstPrime = firstPrime;
+        this.concurrencyMode = concurrencyMode;
+        this.parallelThreshold = parallelThreshold;
     }
 
-    public synchronized List<Entry<K, T>> getBiggerThanDesc(K key) {
-        return GreyNodeHandler.getBiggerThanDesc(greyNode, new WgbKey<>(key));
+    public ConcurrencyMode getConcurrencyMode() {
+        return concurrencyMode;
     }
 
-    public synchronized List<Entry<K, T>> getLessThanAsc(K key) {
-        return GreyNodeHandler.getLessThanAsc(greyNode, new WgbKey<>(key));
+    public int getParallelThreshold() {
+        return parallelThreshold;
     }
 
-    public synchronized List<Entry<K, T>> getLessThanDesc(K key) {
-        return GreyNodeHandler.getLessThanDesc(greyNode, new WgbKey<>(key));
+    private <R> R parallel(Supplier<R> work) {
+        return parallelThreshold > 0 ? WgbNodeHandler.withParallelThreshold(parallelThreshold, work) : work.get();
     }
 
-    public synchronized List<Entry<K, T>> getBiggerThanEqualsAsc(K key) {
-        return GreyNodeHandler.getBiggerThanEqualsAsc(greyNode, new WgbKey<>(key));
+    private Lock readLock() {
+        switch (concurrencyMode) {
+            case READ_WRITE:
+                return lock.readLock();
+            case COPY_ON_WRITE:
+                // Readers see the last published root, nodes reachable from it are never changed
+                return NoLock.INSTANCE;
+            default:
+                // In synchronized mode readers are exclusive as well
+                return lock.writeLock();
+        }
     }
 
-    public synchronized List<Entry<K, T>> getBiggerThanEqualsDesc(K key) {
-        return GreyNodeHandler.getBiggerThanEqualsDesc(greyNode, new WgbKey<>(key));
+    private Iterator<Entry<K, T>> iterator(WgbRange<K> range, boolean asc) {
+        readLock().lock();
+        try {
+            var iterator = GreyNodeHandler.iterator(greyNode, range, asc);
+
+            // Published nodes never change, other modes walk the live tree one step at a time
+            return ConcurrencyMode.COPY_ON_WRITE.equals(concurrencyMode) ? iterator : new WgbIterator<>(this, modCount, iterator);
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    public synchronized List<Entry<K, T>> getLessThanEqualsAsc(K key) {
-        return GreyNodeHandler.getLessThanEqualsAsc(greyNode, new WgbKey<>(key));
+    // Writers rotate nodes in place, so each step of a lazy walk runs under the read lock
+    // and fails once a key was added or removed since the walk started
+    <R> R step(int expectedModCount, Supplier<R> step) {
+        if (ConcurrencyMode.COPY_ON_WRITE.equals(concurrencyMode)) {
+            return step.get();
+        }
+
+        readLock().lock();
+        try {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            return step.get();
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    public synchronized List<Entry<K, T>> getLessThanEqualsDesc(K key) {
-        return GreyNodeHandler.getLessThanEqualsDesc(greyNode, new WgbKey<>(key));
+    private WgbVersion nextVersion() {
+        return ConcurrencyMode.COPY_ON_WRITE.equals(concurrencyMode) ? new WgbVersion() : null;
     }
 
-    public synchronized List<Entry<K, T>> getBetweenAsc(K low, K max) {
-        return GreyNodeHandler.getBetweenAsc(greyNode, new WgbKey<>(low), new WgbKey<>(max));
+    private Lock writeLock() {
+        if (lock.getReadHoldCount() > 0 && !lock.isWriteLockedByCurrentThread()) {
+            // A read lock can not be upgraded, a write from inside read or forEach would wait for itself forever
+            throw new IllegalStateException("Tree can not be changed by a thread that is reading it");
+        }
+
+        return lock.writeLock();
     }
 
-    public synchronized List<Entry<K, T>> getBetweenDesc(K low, K max) {
-        return GreyNodeHandler.getBetweenDesc(greyNode, new WgbKey<>(low), new WgbKey<>(max));
+    public void print() {
+        readLock().lock();
+        try {
+            GreyNodeHandler.printDepth(greyNode, 4);
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    public synchronized List<Entry<K, T>> getNotEqualsAsc(K key) {
-        return GreyNodeHandler.getNotEqualsAsc(greyNode, new WgbKey<>(key));
+    public Entry<K, T> getByKey(K key) {
+        readLock().lock();
+        try {
+            var node = WgbNodeHandler.find(greyNode, key);
+
+            return isNull(node) ? null : node.toMapEntry();
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    public synchronized List<Entry<K, T>> getNotEqualsDesc(K key) {
-        return GreyNodeHandler.getNotEqualsDesc(greyNode, new WgbKey<>(key));
+    public List<Entry<K, T>> getBiggerThanAsc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getBiggerThanAsc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    public synchronized List<Entry<K, T>> getAsc() {
-        return GreyNodeHandler.getAsc(greyNode);
+    public List<Entry<K, T>> getBiggerThanDesc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getBiggerThanDesc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    public synchronized List<Entry<K, T>> getDesc() {
-        return GreyNodeHandler.getDesc(greyNode);
+    public List<Entry<K, T>> getLessThanAsc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getLessThanAsc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getLessThanDesc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getLessThanDesc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getBiggerThanEqualsAsc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getBiggerThanEqualsAsc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getBiggerThanEqualsDesc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getBiggerThanEqualsDesc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getLessThanEqualsAsc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getLessThanEqualsAsc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getLessThanEqualsDesc(K key) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getLessThanEqualsDesc(greyNode, new WgbKey<>(key)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getBetweenAsc(K low, K max) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getBetweenAsc(greyNode, new WgbKey<>(low), new WgbKey<>(max)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getBetweenDesc(K low, K max) {
+        readLock().lock();
+        try {
+            return parallel(() -> GreyNodeHandler.getBetweenDesc(greyNode, new WgbKey<>(low), new WgbKey<>(max)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getNotEqualsAsc(K key) {
+        readLock().lock();
+        try {
+            return GreyNodeHandler.getNotEqualsAsc(greyNode, new WgbKey<>(key));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getNotEqualsDesc(K key) {
+        readLock().lock();
+        try {
+            return GreyNodeHandler.getNotEqualsDesc(greyNode, new WgbKey<>(key));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getAsc() {
+        readLock().lock();
+        try {
+            return GreyNodeHandler.getAsc(greyNode);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public List<Entry<K, T>> getDesc() {
+        readLock().lock();
+        try {
+            return GreyNodeHandler.getDesc(greyNode);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterate(boolean asc) {
+        return iterator(WgbRange.all(), asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThan(K key, boolean asc) {
+        return iterator(WgbRange.of(key, false, null, false), asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateBiggerThanEquals(K key, boolean asc) {
+        return iterator(WgbRange.of(key, true, null, false), asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThan(K key, boolean asc) {
+        return iterator(WgbRange.of(null, false, key, false), asc);
+    }
+
+    @Override
+    public Iterator<Entry<K, T>> iterateLessThanEquals(K key, boolean asc) {
+        return iterator(WgbRange.of(null, false, key, true), asc);
     }
 
     @Override
-    public synchronized int getNumberOfNodes() {
-        return WgbNodeHandler.getNumberOfNodes(greyNode);
+    public Iterator<Entry<K, T>> iterateBetween(K low, K high, boolean asc) {
+        return iterator(WgbRange.of(low, true, high, true), asc);
     }
 
     @Override
-    public synchronized int getNumberOfEmptyNodes() {
-        return WgbNodeHandler.getNumberOfEmptyNodes(greyNode);
+    public Spliterator<Entry<K, T>> spliteratorBetween(K low, K high) {
+        readLock().lock();
+        try {
+            var root = greyNode;
+            WgbRange<K> range = WgbRange.of(low, true, high, true);
+
+            // Splits along the tree in every mode, same as iterators it fails once a key is added or removed
+            return new WgbSpliterator<>(this, modCount, root, range, GreyNodeHandler.count(root, range));
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized int depth() {
-        return WgbNodeHandler.depth(greyNode);
+    public int getNumberOfNodes() {
+        readLock().lock();
+        try {
+            return WgbNodeHandler.getNumberOfNodes(greyNode);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getNumberOfEmptyNodes() {
+        readLock().lock();
+        try {
+            return WgbNodeHandler.getNumberOfEmptyNodes(greyNode);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public int depth() {
+        readLock().lock();
+        try {
+            return WgbNodeHandler.depth(greyNode);
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
@@ -142,119 +392,410 @@ public class WhiteGreyBlackTree<K extends Comparable<K>, T> implements Queryable
     }
 
     @Override
-    public synchronized int size() {
-        return this.count;
+    public int size() {
+        readLock().lock();
+        try {
+            return this.count;
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized boolean isEmpty() {
-        return isNull(greyNode);
+    public boolean isEmpty() {
+        readLock().lock();
+        try {
+            return isNull(greyNode);
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public synchronized boolean containsKey(Object key) {
-        return Objects.nonNull(WgbNodeHandler.get(greyNode, new WgbKey<>((K) key)));
+    public boolean containsKey(Object key) {
+        readLock().lock();
+        try {
+            return nonNull(WgbNodeHandler.find(greyNode, (K) key));
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public synchronized boolean containsValue(Object value) {
-        return WgbNodeHandler.containsValue(greyNode, (T) value);
+    public boolean containsValue(Object value) {
+        readLock().lock();
+        try {
+            return WgbNodeHandler.containsValue(greyNode, (T) value);
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public synchronized T get(Object key) {
-        Entry<K, T> result = WgbNodeHandler.get(greyNode, new WgbKey<>((K) key));
+    public T get(Object key) {
+        readLock().lock();
+        try {
+            var node = WgbNodeHandler.find(greyNode, (K) key);
 
-        return isNull(result) ? null : result.getValue();
+            return isNull(node) ? null : node.getData().getValue();
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized T put(K key, T value) {
-        WgbData<K, T> data = new WgbData<>(key, value);
-
+    public T put(K key, T value) {
+        writeLock().lock();
         try {
-            greyNode = GreyNodeHandler.insert(greyNode, firstPrime, data);
+            WgbVersion version = nextVersion();
+            var existing = WgbNodeHandler.find(greyNode, key);
+
+            if (nonNull(existing) && isNull(version)) {
+                return existing.getData().setValue(value);
+            }
+
+            // Existing key gets a copied path to its new data, so snapshots keep the old one
+            greyNode = GreyNodeHandler.insert(greyNode, firstPrime, new WgbData<>(key, value), version);
+
+            if (nonNull(existing)) {
+                return existing.getData().getValue();
+            }
+
             this.count++;
+            this.modCount++;
             return value;
-        } catch (UniqueException e) {
-            Entry<K, T> oldData = WgbNodeHandler.get(greyNode, data.getKey());
+        } finally {
+            writeLock().unlock();
+        }
+    }
 
-            try {
-                greyNode = GreyNodeHandler.delete(greyNode, data.getKey());
-                greyNode = GreyNodeHandler.insert(greyNode, firstPrime, data);
-            } catch (NotFoundException | UniqueException ignored) {
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(Object key) {
+        writeLock().lock();
+        try {
+            var existing = WgbNodeHandler.find(greyNode, (K) key);
+
+            if (isNull(existing)) {
+                return null;
             }
 
-            assert oldData != null;
-            return oldData.getValue();
+            // Read before delete, in place deletes may move other data into this node
+            T oldValue = existing.getData().getValue();
+            greyNode = GreyNodeHandler.delete(greyNode, new WgbKey<>((K) key), nextVersion());
+            this.count--;
+            this.modCount++;
+
+            return oldValue;
+        } finally {
+            writeLock().unlock();
         }
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public synchronized T remove(Object key) {
-        WgbKey<K> wgbKey = new WgbKey<>((K) key);
-        Entry<K, T> oldData = WgbNodeHandler.get(greyNode, wgbKey);
+    public void putAll(Map<? extends K, ? extends T> m) {
+        writeLock().lock();
+        try {
+            if (nonNull(greyNode)) {
+                m.forEach(this::put);
+            } else if (m instanceof SortedMap && isNull(((SortedMap<? extends K, ? extends T>) m).comparator())) {
+                bulkLoad(((Map<K, T>) m).entrySet().iterator());
+            } else {
+                buildFromUnsorted(m);
+            }
+        } finally {
+            writeLock().unlock();
+        }
+    }
+
+    public void bulkLoad(Iterator<Entry<K, T>> sorted) {
+        writeLock().lock();
+        try {
+            if (nonNull(greyNode)) {
+                sorted.forEachRemaining(entry -> put(entry.getKey(), entry.getValue()));
+                return;
+            }
 
-        if (isNull(oldData)) {
-            return null;
+            List<WgbData<K, T>> dataList = new ArrayList<>();
+            WgbData<K, T> previous = null;
+
+            while (sorted.hasNext()) {
+                var entry = sorted.next();
+                var data = new WgbData<>(entry.getKey(), entry.getValue());
+
+                if (nonNull(previous) && previous.getKey().compareTo(data.getKey()) >= 0) {
+                    throw new IllegalArgumentException(String.format("Key %s is not bigger than %s", data.getKey().getValue(), previous.getKey().getValue()));
+                }
+
+                dataList.add(data);
+                previous = data;
+            }
+
+            build(dataList.toArray(newDataArray(0)));
+        } finally {
+            writeLock().unlock();
         }
+    }
 
+    private void buildFromUnsorted(Map<? extends K, ? extends T> m) {
+        WgbData<K, T>[] dataArray = m.entrySet().stream()
+                .map(entry -> new WgbData<K, T>(entry.getKey(), entry.getValue()))
+                .toArray(WhiteGreyBlackTree::newDataArray);
+        Arrays.parallelSort(dataArray, Comparator.comparing(WgbData::getKey));
+
+        for (int i = 1; i < dataArray.length; i++) {
+            if (dataArray[i - 1].getKey().compareTo(dataArray[i].getKey()) == 0) {
+                // compareTo is not consistent with equals, let put decide which value stays
+                m.forEach(this::put);
+                return;
+            }
+        }
+
+        build(dataArray);
+    }
+
+    private void build(WgbData<K, T>[] sorted) {
+        greyNode = parallel(() -> GreyNodeHandler.build(sorted, 0, sorted.length, firstPrime, newDataArray(sorted.length)));
+        this.count = sorted.length;
+        this.modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>, T>
+    WgbData<K, T>[] newDataArray(int length) {
+        return (WgbData<K, T>[]) new WgbData<?, ?>[length];
+    }
+
+    @Override
+    public <R> R read(Supplier<R> reader) {
+        readLock().lock();
         try {
-            greyNode = GreyNodeHandler.delete(greyNode, wgbKey);
-            this.count--;
-        } catch (NotFoundException | UniqueException ignored) {
+            return reader.get();
+        } finally {
+            readLock().unlock();
         }
+    }
 
-        return oldData.getValue();
+    @Override
+    public void forEach(BiConsumer<? super K, ? super T> action) {
+        readLock().lock();
+        try {
+            GreyNodeHandler.iterator(greyNode, WgbRange.<K>all(), true)
+                    .forEachRemaining(entry -> action.accept(entry.getKey(), entry.getValue()));
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized void putAll(Map<? extends K, ? extends T> m) {
-        m.forEach(this::put);
+    public void clear() {
+        writeLock().lock();
+        try {
+            this.greyNode = null;
+            this.count = 0;
+            this.modCount++;
+        } finally {
+            writeLock().unlock();
+        }
     }
 
     @Override
-    public synchronized void clear() {
-        this.greyNode = null;
-        this.count = 0;
+    public Entry<K, T> lowerEntry(K key) {
+        readLock().lock();
+        try {
+            return toEntry(GreyNodeHandler.floor(greyNode, new WgbKey<>(key), false));
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    @NotNull
     @Override
-    public synchronized Set<K> keySet() {
-        return WgbNodeHandler.keySet(greyNode);
+    public Entry<K, T> floorEntry(K key) {
+        readLock().lock();
+        try {
+            return toEntry(GreyNodeHandler.floor(greyNode, new WgbKey<>(key), true));
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    @NotNull
     @Override
-    public synchronized Collection<T> values() {
-        return GreyNodeHandler.getAsc(greyNode)
-                .stream()
-                .map(Entry::getValue)
-                .collect(Collectors.toSet());
+    public Entry<K, T> ceilingEntry(K key) {
+        readLock().lock();
+        try {
+            return toEntry(GreyNodeHandler.ceiling(greyNode, new WgbKey<>(key), true));
+        } finally {
+            readLock().unlock();
+        }
     }
 
-    @NotNull
     @Override
-    public synchronized Set<Entry<K, T>> entrySet() {
-        return WgbNodeHandler.entrySet(greyNode);
+    public Entry<K, T> higherEntry(K key) {
+        readLock().lock();
+        try {
+            return toEntry(GreyNodeHandler.ceiling(greyNode, new WgbKey<>(key), false));
+        } finally {
+            readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized K getMax() {
-        WgbData<K, T> data = GreyNodeHandler.getMax(greyNode);
+    public Entry<K, T> pollFirstEntry() {
+        writeLock().lock();
+        try {
+            var entry = firstEntry();
+
+            if (nonNull(entry)) {
+                remove(entry.getKey());
+            }
 
-        return isNull(data) ? null : data.getKey().getValue();
+            return entry;
+        } finally {
+            writeLock().unlock();
+        }
     }
 
     @Override
-    public synchronized K getMin() {
-        WgbData<K, T> data = GreyNodeHandler.getMin(greyNode);
+    public Entry<K, T> pollLastEntry() {
+        writeLock().lock();
+        try {
+            var entry = lastEntry();
+
+            if (nonNull(entry)) {
+                remove(entry.getKey());
+            }
 
-        return isNull(data) ? null : data.getKey().getValue();
+            return entry;
+        } finally {
+            writeLock().unlock();
+        }
+    }
+
+    @Override
+    public K getMax() {
+        readLock().lock();
+        try {
+            WgbData<K, T> data = GreyNodeHandler.getMax(greyNode);
+
+            return isNull(data) ? null : data.getKey().getValue();
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Entry<K, T>> first(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException(String.format("Count %d must not be negative", n));
+        }
+
+        readLock().lock();
+        try {
+            return GreyNodeHandler.first(greyNode, n);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Entry<K, T>> last(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException(String.format("Count %d must not be negative", n));
+        }
+
+        readLock().lock();
+        try {
+            return GreyNodeHandler.last(greyNode, n);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public int rank(K key) {
+        readLock().lock();
+        try {
+            return GreyNodeHandler.countLessThan(greyNode, new WgbKey<>(key), false);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public Entry<K, T> select(int index) {
+        readLock().lock();
+        try {
+            // One read of the root, in copy on write mode writers may publish a new one meanwhile
+            var root = greyNode;
+            Objects.checkIndex(index, WgbNodeHandler.size(root));
+
+            return GreyNodeHandler.select(root, index);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    public int countBetween(K low, K high) {
+        readLock().lock();
+        try {
+            if (low.compareTo(high) > 0) {
+                return 0;
+            }
+
+            // Root is passed once, so both bounds are counted in the same tree
+            return GreyNodeHandler.count(greyNode, WgbRange.of(low, true, high, true));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public K getMin() {
+        readLock().lock();
+        try {
+            WgbData<K, T> data = GreyNodeHandler.getMin(greyNode);
+
+            return isNull(data) ? null : data.getKey().getValue();
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    private static <K extends Comparable<K>, T>
+    Entry<K, T> toEntry(WgbData<K, T> data) {
+        return isNull(data) ? null : Map.entry(data.getKey().getValue(), data.getValue());
+    }
+
+    private static final class NoLock implements Lock {
+        private static final NoLock INSTANCE = new NoLock();
+
+        @Override
+        public void lock() {
+        }
+
+        @Override
+        public void lockInterruptibly() {
+        }
+
+        @Override
+        public boolean tryLock() {
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) {
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
     }
 }
\ No newline at end of file
@@ -24,22 +24,28 @@
 package dsenta.queryablemap.wgb.node.handler;
 
 import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.collectFromGreyNodes;
+import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.mergeFromGreyNodes;
+import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.mutable;
 import static dsenta.queryablemap.wgb.node.util.OrderListFlatter.flatAsc;
 import static dsenta.queryablemap.wgb.node.util.OrderListFlatter.flatDesc;
 import static java.util.Objects.isNull;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.Supplier;
 
-import dsenta.queryablemap.exception.NotFoundException;
-import dsenta.queryablemap.exception.UniqueException;
 import dsenta.queryablemap.wgb.node.model.BlackNode;
 import dsenta.queryablemap.wgb.node.model.GreyNode;
 import dsenta.queryablemap.wgb.node.model.PopResult;
 import dsenta.queryablemap.wgb.node.model.WgbData;
 import dsenta.queryablemap.wgb.node.model.WgbKey;
+import dsenta.queryablemap.wgb.node.model.WgbRange;
+import dsenta.queryablemap.wgb.node.model.WgbVersion;
+import dsenta.queryablemap.wgb.node.util.ConcatIterator;
 import dsenta.queryablemap.wgb.node.util.Prime;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -48,26 +54,30 @@ import lombok.NoArgsConstructor;
 public final class BlackNodeHandler {
 
     public static <K extends Comparable<K>, T>
-    BlackNode<K, T> delete(BlackNode<K, T> blackNode, WgbKey<K> key) throws NotFoundException, UniqueException {
+    BlackNode<K, T> delete(BlackNode<K, T> blackNode, WgbKey<K> key, WgbVersion version) {
         if (Objects.isNull(blackNode)) {
-            throw new NotFoundException();
+            return null;
         }
 
         int cmp = key.getValue().compareTo(blackNode.getKey().getValue());
 
         if (cmp > 0) {
-            throw new NotFoundException();
+            // black node is the biggest one, key is not in this subtree
+            return blackNode;
+        }
 
-        } else if (cmp < 0) {
+        blackNode = mutable(blackNode, version);
+
+        if (cmp < 0) {
             int index = blackNode.nextIndex(key);
-            blackNode.setNode(index, GreyNodeHandler.delete(blackNode.get(index), key));
+            blackNode.setNode(index, GreyNodeHandler.delete(blackNode.get(index), key, version));
         } else {
             var indexDataResult = WgbNodeHandler.getChildNodeWithMaxData(blackNode);
 
             if (isNull(indexDataResult.getIndex())) {
                 return null;
             } else {
-                var popResult = GreyNodeHandler.popMax(blackNode.get(indexDataResult.getIndex()));
+                var popResult = GreyNodeHandler.popMax(blackNode.get(indexDataResult.getIndex()), version);
                 blackNode.setNode(indexDataResult.getIndex(), popResult.getNode());
                 blackNode.setData(indexDataResult.getData());
                 WgbNodeHandler.calculateAndSetDepth(blackNode);
@@ -78,17 +88,19 @@ public final class BlackNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    PopResult<K, T, BlackNode<K, T>> popMax(BlackNode<K, T> blackNode) {
+    PopResult<K, T, BlackNode<K, T>> popMax(BlackNode<K, T> blackNode, WgbVersion version) {
         if (isNull(blackNode)) {
             return new PopResult<>(null, null);
         }
 
+        blackNode = mutable(blackNode, version);
+
         var indexDataResult = WgbNodeHandler.getChildNodeWithMaxData(blackNode);
 
         if (isNull(indexDataResult.getIndex())) {
             return new PopResult<>(null, blackNode.getData());
         } else {
-            PopResult<K, T, GreyNode<K, T>> popResult = GreyNodeHandler.popMax(blackNode.get(indexDataResult.getIndex()));
+            PopResult<K, T, GreyNode<K, T>> popResult = GreyNodeHandler.popMax(blackNode.get(indexDataResult.getIndex()), version);
             blackNode.setNode(indexDataResult.getIndex(), popResult.getNode());
             blackNode.setData(indexDataResult.getData());
             WgbNodeHandler.calculateAndSetDepth(blackNode);
@@ -98,17 +110,19 @@ public final class BlackNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    PopResult<K, T, BlackNode<K, T>> popMin(BlackNode<K, T> blackNode) {
+    PopResult<K, T, BlackNode<K, T>> popMin(BlackNode<K, T> blackNode, WgbVersion version) {
         if (isNull(blackNode)) {
             return new PopResult<>(null, null);
         }
 
+        blackNode = mutable(blackNode, version);
+
         var indexDataResult = WgbNodeHandler.getChildNodeWithMinData(blackNode);
 
         if (isNull(indexDataResult.getIndex())) {
             return new PopResult<>(null, blackNode.getData());
         } else {
-            PopResult<K, T, GreyNode<K, T>> popResult = GreyNodeHandler.popMin(blackNode.get(indexDataResult.getIndex()));
+            PopResult<K, T, GreyNode<K, T>> popResult = GreyNodeHandler.popMin(blackNode.get(indexDataResult.getIndex()), version);
             blackNode.setNode(indexDataResult.getIndex(), popResult.getNode());
             WgbNodeHandler.calculateAndSetDepth(blackNode);
 
@@ -122,11 +136,15 @@ public final class BlackNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    BlackNode<K, T> insert(BlackNode<K, T> blackNode, int capacity, WgbData<K, T> data) throws UniqueException {
+    BlackNode<K, T> insert(BlackNode<K, T> blackNode, int capacity, WgbData<K, T> data, WgbVersion version) {
         if (isNull(blackNode)) {
-            return new BlackNode<>(data, capacity);
+            var newNode = new BlackNode<>(data, capacity);
+            newNode.setVersion(version);
+            return newNode;
         }
 
+        blackNode = mutable(blackNode, version);
+
         int cmp = data.getKey().compareTo(blackNode.getKey());
 
         if (cmp > 0) {
@@ -135,7 +153,8 @@ public final class BlackNodeHandler {
             GreyNode<K, T> greyNode = GreyNodeHandler.insert(
                     blackNode.next(nodeData.getKey()),
                     Prime.nextPrime(capacity),
-                    nodeData
+                    nodeData,
+                    version
             );
 
             if (greyNode.getDepth() >= blackNode.getDepth()) {
@@ -148,7 +167,8 @@ public final class BlackNodeHandler {
             GreyNode<K, T> greyNode = GreyNodeHandler.insert(
                     blackNode.next(data.getKey()),
                     Prime.nextPrime(capacity),
-                    data
+                    data,
+                    version
             );
 
             if (greyNode.getDepth() >= blackNode.getDepth()) {
@@ -157,38 +177,106 @@ public final class BlackNodeHandler {
 
             blackNode.setNode(blackNode.nextIndex(greyNode.getKey()), greyNode);
         } else {
-            throw new UniqueException(String.format("Data %s already exists!", data));
+            blackNode.setData(data);
         }
 
         return blackNode;
     }
 
     public static <K extends Comparable<K>, T>
-    List<Entry<K, T>> getAsc(BlackNode<K, T> blackNode) {
+    int countLessThan(BlackNode<K, T> blackNode, WgbKey<K> key, boolean inclusive) {
         if (isNull(blackNode)) {
-            return new LinkedList<>();
+            return 0;
         }
 
-        var inOrderLists = collectFromGreyNodes(blackNode, GreyNodeHandler::getAsc);
-        var result = flatAsc(inOrderLists);
-        result.add(blackNode.toMapEntry());
+        int cmp = blackNode.getKey().compareTo(key);
 
-        return result;
+        if (cmp < 0 || (cmp == 0 && inclusive)) {
+            // black node is the biggest one, everything here is less than the key
+            return blackNode.getSize();
+        }
+
+        return WgbNodeHandler.countLessThanInGreyNodes(blackNode, key, inclusive);
     }
 
     public static <K extends Comparable<K>, T>
-    List<Entry<K, T>> getDesc(BlackNode<K, T> blackNode) {
+    Entry<K, T> select(BlackNode<K, T> blackNode, int index) {
+        return index == blackNode.getSize() - 1 ? blackNode.toMapEntry() : WgbNodeHandler.selectFromGreyNodes(blackNode, index);
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> floor(BlackNode<K, T> blackNode, WgbKey<K> key, boolean inclusive) {
         if (isNull(blackNode)) {
-            return new LinkedList<>();
+            return null;
         }
 
-        var inOrderLists = collectFromGreyNodes(blackNode, GreyNodeHandler::getDesc);
+        int cmp = blackNode.getKey().compareTo(key);
 
-        List<Entry<K, T>> result = new LinkedList<>();
-        result.add(blackNode.toMapEntry());
-        result.addAll(flatDesc(inOrderLists));
+        if (cmp < 0 || (cmp == 0 && inclusive)) {
+            // black node is the biggest one, so it is the floor of the whole subtree
+            return blackNode.getData();
+        }
 
-        return result;
+        return WgbNodeHandler.floorInGreyNodes(blackNode, key, inclusive);
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> ceiling(BlackNode<K, T> blackNode, WgbKey<K> key, boolean inclusive) {
+        if (isNull(blackNode)) {
+            return null;
+        }
+
+        int cmp = blackNode.getKey().compareTo(key);
+
+        if (cmp < 0 || (cmp == 0 && !inclusive)) {
+            // black node is the biggest one, nothing here is above the key
+            return null;
+        } else if (cmp == 0) {
+            return blackNode.getData();
+        }
+
+        WgbData<K, T> ceiling = WgbNodeHandler.ceilingInGreyNodes(blackNode, key, inclusive);
+
+        return Objects.nonNull(ceiling) ? ceiling : blackNode.getData();
+    }
+
+    public static <K extends Comparable<K>, T>
+    BlackNode<K, T> build(WgbData<K, T>[] sorted, int from, int to, int capacity, WgbData<K, T>[] buffer) {
+        if (from >= to) {
+            return null;
+        }
+
+        var blackNode = new BlackNode<>(sorted[to - 1], capacity);
+        WgbNodeHandler.buildGreyNodes(blackNode, sorted, from, to - 1, buffer);
+
+        return blackNode;
+    }
+
+    public static <K extends Comparable<K>, T>
+    Iterator<Entry<K, T>> iterator(BlackNode<K, T> blackNode, WgbRange<K> range, boolean asc) {
+        if (isNull(blackNode) || range.isBelow(blackNode.getKey())) {
+            // black node is the biggest one
+            // if it is below the range, all child nodes are as well
+            return Collections.emptyIterator();
+        }
+
+        Supplier<Iterator<Entry<K, T>>> self = () -> range.contains(blackNode.getKey()) ?
+                Collections.singletonList(blackNode.toMapEntry()).iterator() :
+                Collections.emptyIterator();
+        Supplier<Iterator<Entry<K, T>>> children = () ->
+                mergeFromGreyNodes(blackNode, node -> GreyNodeHandler.iterator(node, range, asc), asc);
+
+        return asc ? ConcatIterator.of(children, self) : ConcatIterator.of(self, children);
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> getAsc(BlackNode<K, T> blackNode) {
+        return WgbNodeHandler.toList(iterator(blackNode, WgbRange.all(), true));
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> getDesc(BlackNode<K, T> blackNode) {
+        return WgbNodeHandler.toList(iterator(blackNode, WgbRange.all(), false));
     }
 
     public static <K extends Comparable<K>, T>
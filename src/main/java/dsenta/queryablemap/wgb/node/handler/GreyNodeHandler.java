@@ -28,23 +28,34 @@ import static dsenta.queryablemap.wgb.node.handler.GreyNodeHandler.BalanceResult
 import static dsenta.queryablemap.wgb.node.handler.GreyNodeHandler.BalanceResult.MORE_RIGHT;
 import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.calculateAndSetDepth;
 import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.depth;
+import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.mutable;
+import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.size;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.PriorityQueue;
 
-import dsenta.queryablemap.exception.NotFoundException;
-import dsenta.queryablemap.exception.UniqueException;
 import dsenta.queryablemap.trie.node.model.Pair;
 import dsenta.queryablemap.wgb.node.model.BlackNode;
 import dsenta.queryablemap.wgb.node.model.GreyNode;
 import dsenta.queryablemap.wgb.node.model.PopResult;
 import dsenta.queryablemap.wgb.node.model.WgbData;
 import dsenta.queryablemap.wgb.node.model.WgbKey;
+import dsenta.queryablemap.wgb.node.model.WgbNode;
+import dsenta.queryablemap.wgb.node.model.WgbRange;
+import dsenta.queryablemap.wgb.node.model.WgbVersion;
 import dsenta.queryablemap.wgb.node.model.WhiteNode;
+import dsenta.queryablemap.wgb.node.util.ConcatIterator;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -90,50 +101,67 @@ public final class GreyNodeHandler {
 
     public static <K extends Comparable<K>, T>
     List<Entry<K, T>> getAsc(GreyNode<K, T> greyNode) {
-        if (isNull(greyNode)) {
-            return new LinkedList<>();
-        }
-
-        List<Entry<K, T>> result = WhiteNodeHandler.getAsc(greyNode.getWhiteNode());
-        result.add(greyNode.toMapEntry());
-        result.addAll(BlackNodeHandler.getAsc(greyNode.getBlackNode()));
-
-        return result;
+        return WgbNodeHandler.toList(iterator(greyNode, WgbRange.all(), true));
     }
 
     public static <K extends Comparable<K>, T>
     List<Entry<K, T>> getDesc(GreyNode<K, T> greyNode) {
+        return WgbNodeHandler.toList(iterator(greyNode, WgbRange.all(), false));
+    }
+
+    public static <K extends Comparable<K>, T>
+    Iterator<Entry<K, T>> iterator(GreyNode<K, T> greyNode, WgbRange<K> range, boolean asc) {
         if (isNull(greyNode)) {
-            return new LinkedList<>();
+            return Collections.emptyIterator();
         }
 
-        List<Entry<K, T>> result = BlackNodeHandler.getDesc(greyNode.getBlackNode());
-        result.add(greyNode.toMapEntry());
-        result.addAll(WhiteNodeHandler.getDesc(greyNode.getWhiteNode()));
+        if (range.isBelow(greyNode.getKey())) {
+            // white node and everything below is smaller than grey node
+            return BlackNodeHandler.iterator(greyNode.getBlackNode(), range, asc);
+        }
 
-        return result;
+        if (range.isAbove(greyNode.getKey())) {
+            // black node and everything below is bigger than grey node
+            return WhiteNodeHandler.iterator(greyNode.getWhiteNode(), range, asc);
+        }
+
+        if (asc) {
+            return ConcatIterator.of(
+                    () -> WhiteNodeHandler.iterator(greyNode.getWhiteNode(), range, true),
+                    () -> Collections.singletonList(greyNode.toMapEntry()).iterator(),
+                    () -> BlackNodeHandler.iterator(greyNode.getBlackNode(), range, true)
+            );
+        }
+
+        return ConcatIterator.of(
+                () -> BlackNodeHandler.iterator(greyNode.getBlackNode(), range, false),
+                () -> Collections.singletonList(greyNode.toMapEntry()).iterator(),
+                () -> WhiteNodeHandler.iterator(greyNode.getWhiteNode(), range, false)
+        );
     }
 
     public static <K extends Comparable<K>, T>
-    GreyNode<K, T> delete(GreyNode<K, T> greyNode, WgbKey<K> key) throws NotFoundException, UniqueException {
+    GreyNode<K, T> delete(GreyNode<K, T> greyNode, WgbKey<K> key, WgbVersion version) {
         if (isNull(greyNode)) {
-            throw new NotFoundException();
+            return null;
         }
 
+        greyNode = mutable(greyNode, version);
+
         int cmp = key.compareTo(greyNode.getKey());
 
         if (cmp < 0) {
-            WhiteNode<K, T> whiteNode = WhiteNodeHandler.delete(greyNode.getWhiteNode(), key);
+            WhiteNode<K, T> whiteNode = WhiteNodeHandler.delete(greyNode.getWhiteNode(), key, version);
             greyNode.setWhiteNode(whiteNode);
         } else if (cmp > 0) {
-            BlackNode<K, T> blackNode = BlackNodeHandler.delete(greyNode.getBlackNode(), key);
+            BlackNode<K, T> blackNode = BlackNodeHandler.delete(greyNode.getBlackNode(), key, version);
             greyNode.setBlackNode(blackNode);
         } else {
             WhiteNode<K, T> whiteNode = greyNode.getWhiteNode();
             BlackNode<K, T> blackNode = greyNode.getBlackNode();
 
             if (isNull(whiteNode)) {
-                PopResult<K, T, BlackNode<K, T>> popResult = BlackNodeHandler.popMin(blackNode);
+                PopResult<K, T, BlackNode<K, T>> popResult = BlackNodeHandler.popMin(blackNode, version);
 
                 if (isNull(popResult.getData())) {
                     return null;
@@ -142,7 +170,7 @@ public final class GreyNodeHandler {
                 greyNode.setData(popResult.getData());
                 greyNode.setBlackNode(popResult.getNode());
             } else {
-                PopResult<K, T, WhiteNode<K, T>> popResult = WhiteNodeHandler.popMax(whiteNode);
+                PopResult<K, T, WhiteNode<K, T>> popResult = WhiteNodeHandler.popMax(whiteNode, version);
 
                 if (isNull(popResult.getData())) {
                     return null;
@@ -154,7 +182,7 @@ public final class GreyNodeHandler {
         }
 
         calculateAndSetDepth(greyNode);
-        return rotateUntilBalance(greyNode);
+        return rotateUntilBalance(greyNode, version);
     }
 
     public static <K extends Comparable<K>, T>
@@ -180,17 +208,123 @@ public final class GreyNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    PopResult<K, T, GreyNode<K, T>> popMin(GreyNode<K, T> greyNode) {
+    WgbKey<K> pivot(GreyNode<K, T> greyNode, WgbRange<K> range) {
+        // Key inside the range that splits it into two non-empty ordered parts,
+        // grey nodes are balanced so the first one inside the range is close to its middle
+        while (nonNull(greyNode)) {
+            if (range.isBelow(greyNode.getKey())) {
+                greyNode = overlappingChild(greyNode.getBlackNode(), range);
+            } else if (range.isAbove(greyNode.getKey())) {
+                greyNode = overlappingChild(greyNode.getWhiteNode(), range);
+            } else if (isNull(range.getLow()) || greyNode.getKey().compareTo(range.getLow()) > 0) {
+                return greyNode.getKey();
+            } else {
+                greyNode = overlappingChild(greyNode.getBlackNode(), range);
+            }
+        }
+
+        return null;
+    }
+
+    private static <K extends Comparable<K>, T>
+    GreyNode<K, T> overlappingChild(WgbNode<K, T> nonGreyNode, WgbRange<K> range) {
+        if (isNull(nonGreyNode)) {
+            return null;
+        }
+
+        for (int i = 0; i < nonGreyNode.getCapacity(); i++) {
+            var child = (GreyNode<K, T>) nonGreyNode.get(i);
+
+            if (nonNull(child) && !range.isAbove(getMin(child).getKey()) && !range.isBelow(getMax(child).getKey())) {
+                return child;
+            }
+        }
+
+        return null;
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> first(GreyNode<K, T> greyNode, int n) {
+        return top(greyNode, n, true);
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> last(GreyNode<K, T> greyNode, int n) {
+        return top(greyNode, n, false);
+    }
+
+    private static <K extends Comparable<K>, T>
+    List<Entry<K, T>> top(GreyNode<K, T> greyNode, int n, boolean asc) {
+        List<Entry<K, T>> result = new ArrayList<>(Math.min(n, 1024));
+
+        if (isNull(greyNode) || n == 0) {
+            return result;
+        }
+
+        // Best-first descent: every pending subtree is keyed by a bound on its extreme,
+        // so only subtrees which can still hold one of the first n entries get opened
+        Comparator<Frontier<K, T>> byBound = (x, y) -> x.bound.compareTo(y.bound);
+        var frontier = new PriorityQueue<>(asc ? byBound : byBound.reversed());
+        frontier.add(new Frontier<>(greyNode.getKey(), greyNode, true));
+
+        while (result.size() < n && !frontier.isEmpty()) {
+            var head = frontier.poll();
+
+            if (!head.expand) {
+                result.add(head.node.toMapEntry());
+            } else if (head.node instanceof GreyNode) {
+                var grey = (GreyNode<K, T>) head.node;
+                WgbNode<K, T> near = asc ? grey.getWhiteNode() : grey.getBlackNode();
+                WgbNode<K, T> far = asc ? grey.getBlackNode() : grey.getWhiteNode();
+
+                if (nonNull(near)) {
+                    frontier.add(new Frontier<>(near.getKey(), near, true));
+                }
+
+                frontier.add(new Frontier<>(grey.getKey(), grey, false));
+
+                if (nonNull(far)) {
+                    // Everything on the far side lies beyond the grey node itself
+                    frontier.add(new Frontier<>(grey.getKey(), far, true));
+                }
+            } else {
+                var nonGrey = head.node;
+
+                // White node holds the min of its subtree, black node the max
+                if (asc == (nonGrey instanceof WhiteNode)) {
+                    result.add(nonGrey.toMapEntry());
+                } else {
+                    frontier.add(new Frontier<>(nonGrey.getKey(), nonGrey, false));
+                }
+
+                for (int i = 0; i < nonGrey.getCapacity(); i++) {
+                    var child = (GreyNode<K, T>) nonGrey.get(i);
+
+                    if (nonNull(child)) {
+                        var bound = asc ? getMin(child) : getMax(child);
+                        frontier.add(new Frontier<>(bound.getKey(), child, true));
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public static <K extends Comparable<K>, T>
+    PopResult<K, T, GreyNode<K, T>> popMin(GreyNode<K, T> greyNode, WgbVersion version) {
         if (isNull(greyNode)) {
             return new PopResult<>(null, null);
         }
 
+        greyNode = mutable(greyNode, version);
+
         WhiteNode<K, T> whiteNode = greyNode.getWhiteNode();
 
         if (isNull(whiteNode)) {
             WgbData<K, T> min = greyNode.getData();
 
-            PopResult<K, T, BlackNode<K, T>> popResult = BlackNodeHandler.popMin(greyNode.getBlackNode());
+            PopResult<K, T, BlackNode<K, T>> popResult = BlackNodeHandler.popMin(greyNode.getBlackNode(), version);
 
             if (isNull(popResult.getData())) {
                 return new PopResult<>(null, min);
@@ -203,7 +337,7 @@ public final class GreyNodeHandler {
             return new PopResult<>(greyNode, min);
         }
 
-        PopResult<K, T, WhiteNode<K, T>> popResult = WhiteNodeHandler.popMin(whiteNode);
+        PopResult<K, T, WhiteNode<K, T>> popResult = WhiteNodeHandler.popMin(whiteNode, version);
         greyNode.setWhiteNode(popResult.getNode());
         calculateAndSetDepth(greyNode);
 
@@ -211,16 +345,18 @@ public final class GreyNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    PopResult<K, T, GreyNode<K, T>> popMax(GreyNode<K, T> greyNode) {
+    PopResult<K, T, GreyNode<K, T>> popMax(GreyNode<K, T> greyNode, WgbVersion version) {
         if (isNull(greyNode)) {
             return new PopResult<>(null, null);
         }
 
+        greyNode = mutable(greyNode, version);
+
         BlackNode<K, T> blackNode = greyNode.getBlackNode();
 
         if (isNull(blackNode)) {
             WgbData<K, T> max = greyNode.getData();
-            PopResult<K, T, WhiteNode<K, T>> popResult = WhiteNodeHandler.popMax(greyNode.getWhiteNode());
+            PopResult<K, T, WhiteNode<K, T>> popResult = WhiteNodeHandler.popMax(greyNode.getWhiteNode(), version);
 
             if (isNull(popResult.getData())) {
                 return new PopResult<>(null, max);
@@ -233,7 +369,7 @@ public final class GreyNodeHandler {
             return new PopResult<>(greyNode, max);
         }
 
-        PopResult<K, T, BlackNode<K, T>> popResult = BlackNodeHandler.popMax(blackNode);
+        PopResult<K, T, BlackNode<K, T>> popResult = BlackNodeHandler.popMax(blackNode, version);
         greyNode.setBlackNode(popResult.getNode());
 
         int leftDepth = depth(greyNode.getWhiteNode());
@@ -244,13 +380,13 @@ public final class GreyNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    GreyNode<K, T> rotateUntilBalance(GreyNode<K, T> greyNode) throws UniqueException {
+    GreyNode<K, T> rotateUntilBalance(GreyNode<K, T> greyNode, WgbVersion version) {
         if (isNull(greyNode)) {
             return null;
         }
 
         for (int i = 0; i < MAX_NO_OF_ROTATIONS; i++) {
-            var rotationResult = rotate(greyNode);
+            var rotationResult = rotate(greyNode, version);
             greyNode = rotationResult.getFirst();
             if (GOOD.equals(rotationResult.getSecond())) {
                 return greyNode;
@@ -261,11 +397,13 @@ public final class GreyNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    Pair<GreyNode<K, T>, BalanceResult> rotate(GreyNode<K, T> greyNode) throws UniqueException {
+    Pair<GreyNode<K, T>, BalanceResult> rotate(GreyNode<K, T> greyNode, WgbVersion version) {
         if (isNull(greyNode)) {
             return Pair.of(null, GOOD);
         }
 
+        greyNode = mutable(greyNode, version);
+
         var whiteNode = greyNode.getWhiteNode();
         var blackNode = greyNode.getBlackNode();
 
@@ -278,16 +416,16 @@ public final class GreyNodeHandler {
 
         switch (balanceResult) {
             case MORE_LEFT: {
-                var popResult = WhiteNodeHandler.popMax(whiteNode);
+                var popResult = WhiteNodeHandler.popMax(whiteNode, version);
                 greyNode.setWhiteNode(popResult.getNode());
-                greyNode.setBlackNode(BlackNodeHandler.insert(blackNode, whiteNode.getCapacity(), greyNode.getData()));
+                greyNode.setBlackNode(BlackNodeHandler.insert(blackNode, whiteNode.getCapacity(), greyNode.getData(), version));
                 greyNode.setData(popResult.getData());
                 break;
             }
             case MORE_RIGHT: {
-                var popResult = BlackNodeHandler.popMin(blackNode);
+                var popResult = BlackNodeHandler.popMin(blackNode, version);
                 greyNode.setBlackNode(popResult.getNode());
-                greyNode.setWhiteNode(WhiteNodeHandler.insert(whiteNode, blackNode.getCapacity(), greyNode.getData()));
+                greyNode.setWhiteNode(WhiteNodeHandler.insert(whiteNode, blackNode.getCapacity(), greyNode.getData(), version));
                 greyNode.setData(popResult.getData());
                 break;
             }
@@ -302,15 +440,19 @@ public final class GreyNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    GreyNode<K, T> insert(GreyNode<K, T> greyNode, int capacity, WgbData<K, T> data) throws UniqueException {
+    GreyNode<K, T> insert(GreyNode<K, T> greyNode, int capacity, WgbData<K, T> data, WgbVersion version) {
         if (isNull(greyNode)) {
-            return new GreyNode<>(data);
+            var newNode = new GreyNode<>(data);
+            newNode.setVersion(version);
+            return newNode;
         }
 
+        greyNode = mutable(greyNode, version);
+
         int cmp = data.getKey().compareTo(greyNode.getKey());
 
         if (cmp < 0) {
-            var whiteNode = WhiteNodeHandler.insert(greyNode.getWhiteNode(), capacity, data);
+            var whiteNode = WhiteNodeHandler.insert(greyNode.getWhiteNode(), capacity, data, version);
 
             if (whiteNode.getDepth() >= greyNode.getDepth()) {
                 greyNode.setDepth(whiteNode.getDepth() + 1);
@@ -318,7 +460,7 @@ public final class GreyNodeHandler {
 
             greyNode.setWhiteNode(whiteNode);
         } else if (cmp > 0) {
-            var blackNode = BlackNodeHandler.insert(greyNode.getBlackNode(), capacity, data);
+            var blackNode = BlackNodeHandler.insert(greyNode.getBlackNode(), capacity, data, version);
 
             if (blackNode.getDepth() >= greyNode.getDepth()) {
                 greyNode.setDepth(blackNode.getDepth() + 1);
@@ -326,12 +468,115 @@ public final class GreyNodeHandler {
 
             greyNode.setBlackNode(blackNode);
         } else {
-            throw new UniqueException(String.format("Data %s already exists!", data));
+            greyNode.setData(data);
+            return greyNode;
         }
 
         calculateAndSetDepth(greyNode);
 
-        return rotateUntilBalance(greyNode);
+        return rotateUntilBalance(greyNode, version);
+    }
+
+    public static <K extends Comparable<K>, T>
+    int countLessThan(GreyNode<K, T> greyNode, WgbKey<K> key, boolean inclusive) {
+        if (isNull(greyNode)) {
+            return 0;
+        }
+
+        int cmp = greyNode.getKey().compareTo(key);
+
+        if (cmp < 0 || (cmp == 0 && inclusive)) {
+            return size(greyNode.getWhiteNode()) + 1 + BlackNodeHandler.countLessThan(greyNode.getBlackNode(), key, inclusive);
+        } else if (cmp == 0) {
+            return size(greyNode.getWhiteNode());
+        }
+
+        return WhiteNodeHandler.countLessThan(greyNode.getWhiteNode(), key, inclusive);
+    }
+
+    public static <K extends Comparable<K>, T>
+    int count(GreyNode<K, T> greyNode, WgbRange<K> range) {
+        int notAbove = isNull(range.getHigh()) ? size(greyNode) : countLessThan(greyNode, range.getHigh(), range.isHighInclusive());
+        int below = isNull(range.getLow()) ? 0 : countLessThan(greyNode, range.getLow(), !range.isLowInclusive());
+
+        // Low bound bigger than high bound is an empty range
+        return Math.max(0, notAbove - below);
+    }
+
+    public static <K extends Comparable<K>, T>
+    Entry<K, T> select(GreyNode<K, T> greyNode, int index) {
+        int whiteSize = size(greyNode.getWhiteNode());
+
+        if (index < whiteSize) {
+            return WhiteNodeHandler.select(greyNode.getWhiteNode(), index);
+        } else if (index == whiteSize) {
+            return greyNode.toMapEntry();
+        }
+
+        return BlackNodeHandler.select(greyNode.getBlackNode(), index - whiteSize - 1);
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> floor(GreyNode<K, T> greyNode, WgbKey<K> key, boolean inclusive) {
+        if (isNull(greyNode)) {
+            return null;
+        }
+
+        int cmp = greyNode.getKey().compareTo(key);
+
+        if (cmp == 0 && inclusive) {
+            return greyNode.getData();
+        } else if (cmp >= 0) {
+            return WhiteNodeHandler.floor(greyNode.getWhiteNode(), key, inclusive);
+        }
+
+        WgbData<K, T> floor = BlackNodeHandler.floor(greyNode.getBlackNode(), key, inclusive);
+
+        return Objects.nonNull(floor) ? floor : greyNode.getData();
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> ceiling(GreyNode<K, T> greyNode, WgbKey<K> key, boolean inclusive) {
+        if (isNull(greyNode)) {
+            return null;
+        }
+
+        int cmp = greyNode.getKey().compareTo(key);
+
+        if (cmp == 0 && inclusive) {
+            return greyNode.getData();
+        } else if (cmp <= 0) {
+            return BlackNodeHandler.ceiling(greyNode.getBlackNode(), key, inclusive);
+        }
+
+        WgbData<K, T> ceiling = WhiteNodeHandler.ceiling(greyNode.getWhiteNode(), key, inclusive);
+
+        return Objects.nonNull(ceiling) ? ceiling : greyNode.getData();
+    }
+
+    public static <K extends Comparable<K>, T>
+    GreyNode<K, T> build(WgbData<K, T>[] sorted, int from, int to, int capacity, WgbData<K, T>[] buffer) {
+        if (from >= to) {
+            return null;
+        }
+
+        // Median keeps white and black sides the same size, so no rotations are needed
+        int middle = (from + to) >>> 1;
+        var greyNode = new GreyNode<>(sorted[middle]);
+        var whiteNode = WhiteNodeHandler.build(sorted, from, middle, capacity, buffer);
+        var blackNode = BlackNodeHandler.build(sorted, middle + 1, to, capacity, buffer);
+
+        if (Objects.nonNull(whiteNode)) {
+            greyNode.setWhiteNode(whiteNode);
+        }
+
+        if (Objects.nonNull(blackNode)) {
+            greyNode.setBlackNode(blackNode);
+        }
+
+        greyNode.setDepth(Math.max(depth(whiteNode), depth(blackNode)) + 1);
+
+        return greyNode;
     }
 
     public static <T, K extends Comparable<K>>
@@ -598,4 +843,11 @@ public final class GreyNodeHandler {
 
         return GOOD;
     }
+
+    @AllArgsConstructor
+    private static class Frontier<K extends Comparable<K>, T> {
+        WgbKey<K> bound;
+        WgbNode<K, T> node;
+        boolean expand;
+    }
 }
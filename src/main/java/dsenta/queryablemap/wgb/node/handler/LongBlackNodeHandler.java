@@ -0,0 +1,144 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.handler;
+
+import static java.util.Objects.isNull;
+
+import dsenta.queryablemap.wgb.node.model.LongBlackNode;
+import dsenta.queryablemap.wgb.node.model.LongGreyNode;
+import dsenta.queryablemap.wgb.node.model.LongWgbNode;
+import dsenta.queryablemap.wgb.node.util.LongEntryBuffer;
+import dsenta.queryablemap.wgb.node.util.Prime;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LongBlackNodeHandler {
+
+    public static <T>
+    LongWgbNode<T> getMin(LongBlackNode<T> blackNode) {
+        int index = LongWgbNodeHandler.getChildIndexWithMin(blackNode);
+
+        return index < 0 ? blackNode : LongGreyNodeHandler.getMin(blackNode.get(index));
+    }
+
+    public static <T>
+    LongBlackNode<T> insert(LongBlackNode<T> blackNode, int capacity, long key, T value) {
+        if (isNull(blackNode)) {
+            return new LongBlackNode<>(key, value, capacity);
+        }
+
+        LongGreyNode<T> greyNode;
+
+        if (key > blackNode.getKey()) {
+            // New key becomes the maximum, the old one moves down
+            int index = blackNode.nextIndex(blackNode.getKey());
+            greyNode = LongGreyNodeHandler.insert(blackNode.get(index), Prime.nextPrime(capacity), blackNode.getKey(), blackNode.getValue());
+            blackNode.setNode(index, greyNode);
+            blackNode.setData(key, value);
+        } else if (key < blackNode.getKey()) {
+            int index = blackNode.nextIndex(key);
+            greyNode = LongGreyNodeHandler.insert(blackNode.get(index), Prime.nextPrime(capacity), key, value);
+            blackNode.setNode(index, greyNode);
+        } else {
+            blackNode.setValue(value);
+            return blackNode;
+        }
+
+        if (greyNode.getDepth() >= blackNode.getDepth()) {
+            blackNode.setDepth(greyNode.getDepth() + 1);
+        }
+
+        return blackNode;
+    }
+
+    public static <T>
+    LongBlackNode<T> delete(LongBlackNode<T> blackNode, long key) {
+        if (isNull(blackNode) || key > blackNode.getKey()) {
+            // black node is the biggest one, key is not in this subtree
+            return blackNode;
+        }
+
+        if (key == blackNode.getKey()) {
+            return popMax(blackNode);
+        }
+
+        int index = blackNode.nextIndex(key);
+        LongGreyNode<T> greyNode = blackNode.get(index);
+
+        if (isNull(greyNode)) {
+            return blackNode;
+        }
+
+        blackNode.setNode(index, LongGreyNodeHandler.delete(greyNode, key));
+        LongWgbNodeHandler.calculateAndSetDepth(blackNode);
+
+        return blackNode;
+    }
+
+    public static <T>
+    LongBlackNode<T> popMax(LongBlackNode<T> blackNode) {
+        int index = LongWgbNodeHandler.getChildIndexWithMax(blackNode);
+
+        if (index < 0) {
+            return null;
+        }
+
+        LongGreyNode<T> greyNode = blackNode.get(index);
+        blackNode.setData(LongGreyNodeHandler.getMax(greyNode));
+        blackNode.setNode(index, LongGreyNodeHandler.popMax(greyNode));
+        LongWgbNodeHandler.calculateAndSetDepth(blackNode);
+
+        return blackNode;
+    }
+
+    public static <T>
+    LongBlackNode<T> popMin(LongBlackNode<T> blackNode) {
+        int index = LongWgbNodeHandler.getChildIndexWithMin(blackNode);
+
+        if (index < 0) {
+            return null;
+        }
+
+        blackNode.setNode(index, LongGreyNodeHandler.popMin(blackNode.get(index)));
+        LongWgbNodeHandler.calculateAndSetDepth(blackNode);
+
+        return blackNode;
+    }
+
+    public static <T>
+    void collect(LongBlackNode<T> blackNode, long low, long high, LongEntryBuffer<T> buffer) {
+        if (isNull(blackNode) || blackNode.getKey() < low) {
+            // black node is the biggest one
+            // if it is below the range, all child nodes are as well
+            return;
+        }
+
+        LongWgbNodeHandler.collectFromGreyNodes(blackNode, low, high, buffer);
+
+        if (blackNode.getKey() <= high) {
+            buffer.add(blackNode.getKey(), blackNode.getValue());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.handler;
+
+import static dsenta.queryablemap.wgb.node.handler.LongWgbNodeHandler.depth;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import dsenta.queryablemap.wgb.node.handler.GreyNodeHandler.BalanceResult;
+import dsenta.queryablemap.wgb.node.model.LongGreyNode;
+import dsenta.queryablemap.wgb.node.model.LongWgbNode;
+import dsenta.queryablemap.wgb.node.util.LongEntryBuffer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LongGreyNodeHandler {
+    private static final int MAX_NO_OF_ROTATIONS = 10;
+
+    public static <T>
+    LongWgbNode<T> getMin(LongGreyNode<T> greyNode) {
+        return nonNull(greyNode.getWhiteNode()) ? greyNode.getWhiteNode() : greyNode;
+    }
+
+    public static <T>
+    LongWgbNode<T> getMax(LongGreyNode<T> greyNode) {
+        return nonNull(greyNode.getBlackNode()) ? greyNode.getBlackNode() : greyNode;
+    }
+
+    public static <T>
+    LongGreyNode<T> insert(LongGreyNode<T> greyNode, int capacity, long key, T value) {
+        if (isNull(greyNode)) {
+            return new LongGreyNode<>(key, value);
+        }
+
+        if (key < greyNode.getKey()) {
+            greyNode.setWhiteNode(LongWhiteNodeHandler.insert(greyNode.getWhiteNode(), capacity, key, value));
+        } else if (key > greyNode.getKey()) {
+            greyNode.setBlackNode(LongBlackNodeHandler.insert(greyNode.getBlackNode(), capacity, key, value));
+        } else {
+            greyNode.setValue(value);
+            return greyNode;
+        }
+
+        LongWgbNodeHandler.calculateAndSetDepth(greyNode);
+
+        return rotateUntilBalance(greyNode);
+    }
+
+    public static <T>
+    LongGreyNode<T> delete(LongGreyNode<T> greyNode, long key) {
+        if (isNull(greyNode)) {
+            return null;
+        }
+
+        if (key < greyNode.getKey()) {
+            greyNode.setWhiteNode(LongWhiteNodeHandler.delete(greyNode.getWhiteNode(), key));
+        } else if (key > greyNode.getKey()) {
+            greyNode.setBlackNode(LongBlackNodeHandler.delete(greyNode.getBlackNode(), key));
+        } else {
+            var whiteNode = greyNode.getWhiteNode();
+            var blackNode = greyNode.getBlackNode();
+
+            if (nonNull(whiteNode)) {
+                greyNode.setData(LongWhiteNodeHandler.getMax(whiteNode));
+                greyNode.setWhiteNode(LongWhiteNodeHandler.popMax(whiteNode));
+            } else if (nonNull(blackNode)) {
+                greyNode.setData(LongBlackNodeHandler.getMin(blackNode));
+                greyNode.setBlackNode(LongBlackNodeHandler.popMin(blackNode));
+            } else {
+                return null;
+            }
+        }
+
+        LongWgbNodeHandler.calculateAndSetDepth(greyNode);
+
+        return rotateUntilBalance(greyNode);
+    }
+
+    public static <T>
+    LongGreyNode<T> popMin(LongGreyNode<T> greyNode) {
+        var whiteNode = greyNode.getWhiteNode();
+
+        if (nonNull(whiteNode)) {
+            greyNode.setWhiteNode(LongWhiteNodeHandler.popMin(whiteNode));
+        } else {
+            var blackNode = greyNode.getBlackNode();
+
+            if (isNull(blackNode)) {
+                return null;
+            }
+
+            greyNode.setData(LongBlackNodeHandler.getMin(blackNode));
+            greyNode.setBlackNode(LongBlackNodeHandler.popMin(blackNode));
+        }
+
+        LongWgbNodeHandler.calculateAndSetDepth(greyNode);
+
+        return greyNode;
+    }
+
+    public static <T>
+    LongGreyNode<T> popMax(LongGreyNode<T> greyNode) {
+        var blackNode = greyNode.getBlackNode();
+
+        if (nonNull(blackNode)) {
+            greyNode.setBlackNode(LongBlackNodeHandler.popMax(blackNode));
+        } else {
+            var whiteNode = greyNode.getWhiteNode();
+
+            if (isNull(whiteNode)) {
+                return null;
+            }
+
+            greyNode.setData(LongWhiteNodeHandler.getMax(whiteNode));
+            greyNode.setWhiteNode(LongWhiteNodeHandler.popMax(whiteNode));
+        }
+
+        LongWgbNodeHandler.calculateAndSetDepth(greyNode);
+
+        return greyNode;
+    }
+
+    public static <T>
+    LongGreyNode<T> rotateUntilBalance(LongGreyNode<T> greyNode) {
+        for (int i = 0; i < MAX_NO_OF_ROTATIONS; i++) {
+            if (BalanceResult.GOOD.equals(rotate(greyNode))) {
+                break;
+            }
+        }
+
+        return greyNode;
+    }
+
+    public static <T>
+    BalanceResult rotate(LongGreyNode<T> greyNode) {
+        var whiteNode = greyNode.getWhiteNode();
+        var blackNode = greyNode.getBlackNode();
+        var balanceResult = GreyNodeHandler.getBalanceResult(depth(whiteNode), depth(blackNode));
+
+        switch (balanceResult) {
+            case MORE_LEFT: {
+                var max = LongWhiteNodeHandler.getMax(whiteNode);
+                long key = max.getKey();
+                T value = max.getValue();
+                greyNode.setWhiteNode(LongWhiteNodeHandler.popMax(whiteNode));
+                greyNode.setBlackNode(LongBlackNodeHandler.insert(blackNode, whiteNode.getCapacity(), greyNode.getKey(), greyNode.getValue()));
+                greyNode.setData(key, value);
+                break;
+            }
+            case MORE_RIGHT: {
+                var min = LongBlackNodeHandler.getMin(blackNode);
+                long key = min.getKey();
+                T value = min.getValue();
+                greyNode.setBlackNode(LongBlackNodeHandler.popMin(blackNode));
+                greyNode.setWhiteNode(LongWhiteNodeHandler.insert(whiteNode, blackNode.getCapacity(), greyNode.getKey(), greyNode.getValue()));
+                greyNode.setData(key, value);
+                break;
+            }
+            case GOOD: {
+                return balanceResult;
+            }
+        }
+
+        LongWgbNodeHandler.calculateAndSetDepth(greyNode);
+
+        return balanceResult;
+    }
+
+    public static <T>
+    void collect(LongGreyNode<T> greyNode, long low, long high, LongEntryBuffer<T> buffer) {
+        // White node holds only smaller keys and black node only bigger ones
+        if (greyNode.getKey() > low) {
+            LongWhiteNodeHandler.collect(greyNode.getWhiteNode(), low, high, buffer);
+        }
+
+        if (greyNode.getKey() >= low && greyNode.getKey() <= high) {
+            buffer.add(greyNode.getKey(), greyNode.getValue());
+        }
+
+        if (greyNode.getKey() < high) {
+            LongBlackNodeHandler.collect(greyNode.getBlackNode(), low, high, buffer);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.handler;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import dsenta.queryablemap.wgb.node.model.LongGreyNode;
+import dsenta.queryablemap.wgb.node.model.LongNonGreyNode;
+import dsenta.queryablemap.wgb.node.model.LongWgbNode;
+import dsenta.queryablemap.wgb.node.util.LongEntryBuffer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LongWgbNodeHandler {
+
+    public static <T>
+    int depth(LongWgbNode<T> wgbNode) {
+        return isNull(wgbNode) ? 0 : wgbNode.getDepth();
+    }
+
+    public static <T>
+    void calculateAndSetDepth(LongWgbNode<T> wgbNode) {
+        int maxDepth = 0;
+
+        for (int i = 0; i < wgbNode.getCapacity(); i++) {
+            maxDepth = Math.max(maxDepth, depth(wgbNode.get(i)));
+        }
+
+        wgbNode.setDepth(maxDepth + 1);
+    }
+
+    public static <T>
+    LongWgbNode<T> find(LongWgbNode<T> wgbNode, long key) {
+        while (nonNull(wgbNode)) {
+            if (wgbNode.getKey() == key) {
+                return wgbNode;
+            }
+
+            wgbNode = wgbNode.get(wgbNode.nextIndex(key));
+        }
+
+        return null;
+    }
+
+    public static <T>
+    int getChildIndexWithMin(LongNonGreyNode<T> nonGreyNode) {
+        int index = -1;
+
+        for (int i = 0; i < nonGreyNode.getCapacity(); i++) {
+            var greyNode = nonGreyNode.get(i);
+
+            if (nonNull(greyNode) && (index < 0 ||
+                    LongGreyNodeHandler.getMin(greyNode).getKey() < LongGreyNodeHandler.getMin(nonGreyNode.get(index)).getKey())) {
+                index = i;
+            }
+        }
+
+        return index;
+    }
+
+    public static <T>
+    int getChildIndexWithMax(LongNonGreyNode<T> nonGreyNode) {
+        int index = -1;
+
+        for (int i = 0; i < nonGreyNode.getCapacity(); i++) {
+            var greyNode = nonGreyNode.get(i);
+
+            if (nonNull(greyNode) && (index < 0 ||
+                    LongGreyNodeHandler.getMax(greyNode).getKey() > LongGreyNodeHandler.getMax(nonGreyNode.get(index)).getKey())) {
+                index = i;
+            }
+        }
+
+        return index;
+    }
+
+    public static <T>
+    void collectFromGreyNodes(LongNonGreyNode<T> nonGreyNode, long low, long high, LongEntryBuffer<T> buffer) {
+        if (isNull(nonGreyNode.getNodes())) {
+            return;
+        }
+
+        // Every child is collected as its own sorted run and the runs are merged afterwards
+        int[] starts = new int[nonGreyNode.getCapacity() + 1];
+        int runs = 0;
+
+        for (int i = 0; i < nonGreyNode.getCapacity(); i++) {
+            LongGreyNode<T> greyNode = nonGreyNode.get(i);
+
+            if (nonNull(greyNode)) {
+                int start = buffer.size();
+                LongGreyNodeHandler.collect(greyNode, low, high, buffer);
+
+                if (buffer.size() > start) {
+                    starts[runs++] = start;
+                }
+            }
+        }
+
+        starts[runs] = buffer.size();
+        buffer.mergeRuns(starts, runs);
+    }
+}
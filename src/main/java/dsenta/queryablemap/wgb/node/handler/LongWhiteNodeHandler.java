@@ -0,0 +1,144 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.handler;
+
+import static java.util.Objects.isNull;
+
+import dsenta.queryablemap.wgb.node.model.LongGreyNode;
+import dsenta.queryablemap.wgb.node.model.LongWgbNode;
+import dsenta.queryablemap.wgb.node.model.LongWhiteNode;
+import dsenta.queryablemap.wgb.node.util.LongEntryBuffer;
+import dsenta.queryablemap.wgb.node.util.Prime;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LongWhiteNodeHandler {
+
+    public static <T>
+    LongWgbNode<T> getMax(LongWhiteNode<T> whiteNode) {
+        int index = LongWgbNodeHandler.getChildIndexWithMax(whiteNode);
+
+        return index < 0 ? whiteNode : LongGreyNodeHandler.getMax(whiteNode.get(index));
+    }
+
+    public static <T>
+    LongWhiteNode<T> insert(LongWhiteNode<T> whiteNode, int capacity, long key, T value) {
+        if (isNull(whiteNode)) {
+            return new LongWhiteNode<>(key, value, capacity);
+        }
+
+        LongGreyNode<T> greyNode;
+
+        if (key < whiteNode.getKey()) {
+            // New key becomes the minimum, the old one moves down
+            int index = whiteNode.nextIndex(whiteNode.getKey());
+            greyNode = LongGreyNodeHandler.insert(whiteNode.get(index), Prime.nextPrime(capacity), whiteNode.getKey(), whiteNode.getValue());
+            whiteNode.setNode(index, greyNode);
+            whiteNode.setData(key, value);
+        } else if (key > whiteNode.getKey()) {
+            int index = whiteNode.nextIndex(key);
+            greyNode = LongGreyNodeHandler.insert(whiteNode.get(index), Prime.nextPrime(capacity), key, value);
+            whiteNode.setNode(index, greyNode);
+        } else {
+            whiteNode.setValue(value);
+            return whiteNode;
+        }
+
+        if (greyNode.getDepth() >= whiteNode.getDepth()) {
+            whiteNode.setDepth(greyNode.getDepth() + 1);
+        }
+
+        return whiteNode;
+    }
+
+    public static <T>
+    LongWhiteNode<T> delete(LongWhiteNode<T> whiteNode, long key) {
+        if (isNull(whiteNode) || key < whiteNode.getKey()) {
+            // white node is the smallest one, key is not in this subtree
+            return whiteNode;
+        }
+
+        if (key == whiteNode.getKey()) {
+            return popMin(whiteNode);
+        }
+
+        int index = whiteNode.nextIndex(key);
+        LongGreyNode<T> greyNode = whiteNode.get(index);
+
+        if (isNull(greyNode)) {
+            return whiteNode;
+        }
+
+        whiteNode.setNode(index, LongGreyNodeHandler.delete(greyNode, key));
+        LongWgbNodeHandler.calculateAndSetDepth(whiteNode);
+
+        return whiteNode;
+    }
+
+    public static <T>
+    LongWhiteNode<T> popMin(LongWhiteNode<T> whiteNode) {
+        int index = LongWgbNodeHandler.getChildIndexWithMin(whiteNode);
+
+        if (index < 0) {
+            return null;
+        }
+
+        LongGreyNode<T> greyNode = whiteNode.get(index);
+        whiteNode.setData(LongGreyNodeHandler.getMin(greyNode));
+        whiteNode.setNode(index, LongGreyNodeHandler.popMin(greyNode));
+        LongWgbNodeHandler.calculateAndSetDepth(whiteNode);
+
+        return whiteNode;
+    }
+
+    public static <T>
+    LongWhiteNode<T> popMax(LongWhiteNode<T> whiteNode) {
+        int index = LongWgbNodeHandler.getChildIndexWithMax(whiteNode);
+
+        if (index < 0) {
+            return null;
+        }
+
+        whiteNode.setNode(index, LongGreyNodeHandler.popMax(whiteNode.get(index)));
+        LongWgbNodeHandler.calculateAndSetDepth(whiteNode);
+
+        return whiteNode;
+    }
+
+    public static <T>
+    void collect(LongWhiteNode<T> whiteNode, long low, long high, LongEntryBuffer<T> buffer) {
+        if (isNull(whiteNode) || whiteNode.getKey() > high) {
+            // white node is the smallest one
+            // if it is above the range, all child nodes are as well
+            return;
+        }
+
+        if (whiteNode.getKey() >= low) {
+            buffer.add(whiteNode.getKey(), whiteNode.getValue());
+        }
+
+        LongWgbNodeHandler.collectFromGreyNodes(whiteNode, low, high, buffer);
+    }
+}
@@ -26,14 +26,15 @@ package dsenta.queryablemap.wgb.node.handler;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -41,14 +42,36 @@ import dsenta.queryablemap.wgb.node.model.GreyNode;
 import dsenta.queryablemap.wgb.node.model.GreyNodeWithIndex;
 import dsenta.queryablemap.wgb.node.model.IndexDataResult;
 import dsenta.queryablemap.wgb.node.model.NonGreyNode;
+import dsenta.queryablemap.wgb.node.model.WgbData;
 import dsenta.queryablemap.wgb.node.model.WgbKey;
 import dsenta.queryablemap.wgb.node.model.WgbNode;
+import dsenta.queryablemap.wgb.node.model.WgbRange;
+import dsenta.queryablemap.wgb.node.model.WgbVersion;
+import dsenta.queryablemap.wgb.node.util.MergeIterator;
+import dsenta.queryablemap.wgb.node.util.Prime;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class WgbNodeHandler {
 
+    // Threshold of the tree whose build or query runs on this thread, 0 keeps it all sequential
+    private static final ThreadLocal<Integer> PARALLEL_THRESHOLD = ThreadLocal.withInitial(() -> 0);
+
+    public static <R> R withParallelThreshold(int parallelThreshold, Supplier<R> work) {
+        int previous = PARALLEL_THRESHOLD.get();
+        PARALLEL_THRESHOLD.set(parallelThreshold);
+        try {
+            return work.get();
+        } finally {
+            PARALLEL_THRESHOLD.set(previous);
+        }
+    }
+
+    private static boolean inParallel(int parallelThreshold, int size) {
+        return parallelThreshold > 0 && size >= parallelThreshold;
+    }
+
     public static <K extends Comparable<K>, T>
     int depth(WgbNode<K, T> wgbNode) {
         if (isNull(wgbNode)) {
@@ -58,6 +81,11 @@ public final class WgbNodeHandler {
         return wgbNode.getDepth();
     }
 
+    public static <K extends Comparable<K>, T>
+    int size(WgbNode<K, T> wgbNode) {
+        return isNull(wgbNode) ? 0 : wgbNode.getSize();
+    }
+
     public static <K extends Comparable<K>, T>
     int getNumberOfNodes(WgbNode<K, T> wgbNode) {
         if (isNull(wgbNode)) {
@@ -99,54 +127,32 @@ public final class WgbNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    Entry<K, T> get(WgbNode<K, T> wgbNode, WgbKey<K> key) {
-        if (isNull(wgbNode)) {
-            return null;
-        }
-
-        do {
-            if (wgbNode.getKey().compareTo(key) == 0) {
-                return wgbNode.toMapEntry();
+    WgbNode<K, T> find(WgbNode<K, T> wgbNode, K key) {
+        // Compares the raw key, so a lookup allocates nothing
+        while (nonNull(wgbNode)) {
+            if (wgbNode.getKey().getValue().compareTo(key) == 0) {
+                return wgbNode;
             }
 
-            wgbNode = wgbNode.get(wgbNode.nextIndex(key));
-        } while (nonNull(wgbNode));
-
-        return null;
-    }
-
-    public static <K extends Comparable<K>, T>
-    Set<K> keySet(WgbNode<K, T> wgbNode) {
-        if (isNull(wgbNode)) {
-            return new HashSet<>();
+            wgbNode = wgbNode.get(wgbNode.nextIndexOf(key));
         }
 
-        Set<K> result = wgbNode.getNodes()
-                .stream()
-                .map(WgbNodeHandler::keySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
-
-        result.add(wgbNode.getKey().getValue());
-
-        return result;
+        return null;
     }
 
-    public static <K extends Comparable<K>, T>
-    Set<Entry<K, T>> entrySet(WgbNode<K, T> wgbNode) {
-        if (isNull(wgbNode)) {
-            return new HashSet<>();
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<K>, T, N extends WgbNode<K, T>>
+    N mutable(N wgbNode, WgbVersion version) {
+        if (isNull(version) || version == wgbNode.getVersion()) {
+            // Without version nodes are changed in place,
+            // otherwise node is already copied during this write
+            return wgbNode;
         }
 
-        Set<Entry<K, T>> result = wgbNode.getNodes()
-                .stream()
-                .map(WgbNodeHandler::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
+        N copy = (N) wgbNode.copy();
+        copy.setVersion(version);
 
-        result.add(Map.entry(wgbNode.getKey().getValue(), wgbNode.getData().getValue()));
-
-        return result;
+        return copy;
     }
 
     public static <K extends Comparable<K>, T>
@@ -185,15 +191,206 @@ public final class WgbNodeHandler {
                 .orElse(new IndexDataResult<>(null, null));
     }
 
+    public static <K extends Comparable<K>, T>
+    void buildGreyNodes(NonGreyNode<K, T> nonGreyNode, WgbData<K, T>[] sorted, int from, int to, WgbData<K, T>[] buffer) {
+        if (from >= to) {
+            return;
+        }
+
+        // Stable counting sort by slot keeps every slot's run sorted
+        int capacity = nonGreyNode.getCapacity();
+        int[] starts = new int[capacity + 1];
+        int[] slotOf = new int[to - from];
+
+        for (int i = from; i < to; i++) {
+            slotOf[i - from] = nonGreyNode.nextIndex(sorted[i].getKey());
+            starts[slotOf[i - from] + 1]++;
+        }
+
+        starts[0] = from;
+
+        for (int slot = 1; slot <= capacity; slot++) {
+            starts[slot] += starts[slot - 1];
+        }
+
+        int[] positions = Arrays.copyOf(starts, capacity);
+
+        for (int i = from; i < to; i++) {
+            buffer[positions[slotOf[i - from]]++] = sorted[i];
+        }
+
+        System.arraycopy(buffer, from, sorted, from, to - from);
+
+        int childCapacity = Prime.nextPrime(capacity);
+        var slots = IntStream.range(0, capacity);
+        int parallelThreshold = PARALLEL_THRESHOLD.get();
+        IntFunction<WgbNode<K, T>> build = slot -> GreyNodeHandler.build(sorted, starts[slot], starts[slot + 1], childCapacity, buffer);
+
+        if (inParallel(parallelThreshold, to - from)) {
+            // Every slot owns its own run of sorted and buffer, so slots are built independently,
+            // pool threads get the threshold of this tree for the levels below
+            var sequential = build;
+            slots = slots.parallel();
+            build = slot -> withParallelThreshold(parallelThreshold, () -> sequential.apply(slot));
+        }
+
+        WgbNode<K, T>[] greyNodes = slots
+                .mapToObj(build)
+                .toArray(WgbNodeHandler::newNodeArray);
+        int maxDepth = 0;
+
+        for (var greyNode : greyNodes) {
+            if (nonNull(greyNode)) {
+                maxDepth = Math.max(maxDepth, greyNode.getDepth());
+            }
+        }
+
+        // Children are installed at once, setNode would sum all slots for every child
+        nonGreyNode.setNodes(greyNodes);
+        nonGreyNode.setSize(1 + to - from);
+        nonGreyNode.setDepth(maxDepth + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>, T>
+    WgbNode<K, T>[] newNodeArray(int length) {
+        return (WgbNode<K, T>[]) new WgbNode<?, ?>[length];
+    }
+
     public static <K extends Comparable<K>, T>
     List<List<Entry<K, T>>> collectFromGreyNodes(NonGreyNode<K, T> nonGreyNode, Function<GreyNode<K, T>, List<Entry<K, T>>> mapper) {
-        return nonGreyNode.getNodes().stream()
+        var children = nonGreyNode.getNodes().stream();
+        int parallelThreshold = PARALLEL_THRESHOLD.get();
+
+        if (!inParallel(parallelThreshold, nonGreyNode.getSize())) {
+            return children
+                    .map(node -> (GreyNode<K, T>) node)
+                    .map(mapper)
+                    .filter(list -> !list.isEmpty())
+                    .collect(Collectors.toList());
+        }
+
+        // Children are disjoint subtrees, big ones are evaluated on the common fork/join pool,
+        // smaller ones further down stay sequential; encounter order is kept by collect
+        return children
+                .parallel()
                 .map(node -> (GreyNode<K, T>) node)
-                .map(mapper)
+                .map(node -> withParallelThreshold(parallelThreshold, () -> mapper.apply(node)))
                 .filter(list -> !list.isEmpty())
                 .collect(Collectors.toList());
     }
 
+    public static <K extends Comparable<K>, T>
+    Iterator<Entry<K, T>> mergeFromGreyNodes(NonGreyNode<K, T> nonGreyNode,
+                                             Function<GreyNode<K, T>, Iterator<Entry<K, T>>> mapper,
+                                             boolean asc) {
+        var iterators = nonGreyNode.getNodes().stream()
+                .map(node -> (GreyNode<K, T>) node)
+                .map(mapper)
+                .collect(Collectors.toList());
+
+        return new MergeIterator<>(iterators, asc);
+    }
+
+    public static <K extends Comparable<K>, T>
+    int countLessThanInGreyNodes(NonGreyNode<K, T> nonGreyNode, WgbKey<K> key, boolean inclusive) {
+        int count = 0;
+
+        for (int i = 0; i < nonGreyNode.getCapacity(); i++) {
+            count += GreyNodeHandler.countLessThan(nonGreyNode.get(i), key, inclusive);
+        }
+
+        return count;
+    }
+
+    public static <K extends Comparable<K>, T>
+    Entry<K, T> selectFromGreyNodes(NonGreyNode<K, T> nonGreyNode, int index) {
+        // Children are placed by hash, so their order is only known by merging them.
+        // This walks every entry up to index, select is linear below a non-grey node.
+        var iterator = mergeFromGreyNodes(nonGreyNode, node -> GreyNodeHandler.iterator(node, WgbRange.all(), true), true);
+
+        for (int i = 0; i < index; i++) {
+            iterator.next();
+        }
+
+        return iterator.next();
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> floorInGreyNodes(NonGreyNode<K, T> nonGreyNode, WgbKey<K> key, boolean inclusive) {
+        WgbData<K, T> best = null;
+
+        for (int i = 0; i < nonGreyNode.getCapacity(); i++) {
+            var greyNode = nonGreyNode.get(i);
+
+            if (isNull(greyNode)) {
+                continue;
+            }
+
+            // Max and min of a grey node are known without descending
+            var max = GreyNodeHandler.getMax(greyNode);
+
+            if (nonNull(best) && max.getKey().compareTo(best.getKey()) <= 0) {
+                continue;
+            }
+
+            int cmp = max.getKey().compareTo(key);
+            var floor = cmp < 0 || (cmp == 0 && inclusive) ? max : GreyNodeHandler.floor(greyNode, key, inclusive);
+
+            if (nonNull(floor) && (isNull(best) || floor.getKey().compareTo(best.getKey()) > 0)) {
+                best = floor;
+
+                if (best.getKey().compareTo(key) == 0) {
+                    // Nothing can be closer than the key itself
+                    break;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> ceilingInGreyNodes(NonGreyNode<K, T> nonGreyNode, WgbKey<K> key, boolean inclusive) {
+        WgbData<K, T> best = null;
+
+        for (int i = 0; i < nonGreyNode.getCapacity(); i++) {
+            var greyNode = nonGreyNode.get(i);
+
+            if (isNull(greyNode)) {
+                continue;
+            }
+
+            var min = GreyNodeHandler.getMin(greyNode);
+
+            if (nonNull(best) && min.getKey().compareTo(best.getKey()) >= 0) {
+                continue;
+            }
+
+            int cmp = min.getKey().compareTo(key);
+            var ceiling = cmp > 0 || (cmp == 0 && inclusive) ? min : GreyNodeHandler.ceiling(greyNode, key, inclusive);
+
+            if (nonNull(ceiling) && (isNull(best) || ceiling.getKey().compareTo(best.getKey()) < 0)) {
+                best = ceiling;
+
+                if (best.getKey().compareTo(key) == 0) {
+                    // Nothing can be closer than the key itself
+                    break;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> toList(Iterator<Entry<K, T>> iterator) {
+        List<Entry<K, T>> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+
+        return result;
+    }
+
     public static <K extends Comparable<K>, T>
     void printDepth(NonGreyNode<K, T> nonGreyNode, int depth) {
         if (isNull(nonGreyNode)) {
@@ -24,23 +24,28 @@
 package dsenta.queryablemap.wgb.node.handler;
 
 import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.collectFromGreyNodes;
+import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.mergeFromGreyNodes;
+import static dsenta.queryablemap.wgb.node.handler.WgbNodeHandler.mutable;
 import static dsenta.queryablemap.wgb.node.util.OrderListFlatter.flatAsc;
 import static dsenta.queryablemap.wgb.node.util.OrderListFlatter.flatDesc;
 import static java.util.Objects.isNull;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.Supplier;
 
-import dsenta.queryablemap.exception.NotFoundException;
-import dsenta.queryablemap.exception.UniqueException;
 import dsenta.queryablemap.wgb.node.model.GreyNode;
 import dsenta.queryablemap.wgb.node.model.PopResult;
 import dsenta.queryablemap.wgb.node.model.WgbData;
 import dsenta.queryablemap.wgb.node.model.WgbKey;
+import dsenta.queryablemap.wgb.node.model.WgbRange;
+import dsenta.queryablemap.wgb.node.model.WgbVersion;
 import dsenta.queryablemap.wgb.node.model.WhiteNode;
+import dsenta.queryablemap.wgb.node.util.ConcatIterator;
 import dsenta.queryablemap.wgb.node.util.Prime;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -54,18 +59,20 @@ public final class WhiteNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    PopResult<K, T, WhiteNode<K, T>> popMin(WhiteNode<K, T> whiteNode) {
+    PopResult<K, T, WhiteNode<K, T>> popMin(WhiteNode<K, T> whiteNode, WgbVersion version) {
         if (isNull(whiteNode)) {
             return new PopResult<>(null, null);
         }
 
+        whiteNode = mutable(whiteNode, version);
+
         var indexDataResult = WgbNodeHandler.getChildNodeWithMinData(whiteNode);
         WgbData<K, T> min = whiteNode.getData();
 
         if (isNull(indexDataResult.getIndex())) {
             return new PopResult<>(null, min);
         } else {
-            var popResult = GreyNodeHandler.popMin(whiteNode.get(indexDataResult.getIndex()));
+            var popResult = GreyNodeHandler.popMin(whiteNode.get(indexDataResult.getIndex()), version);
             whiteNode.setNode(indexDataResult.getIndex(), popResult.getNode());
             whiteNode.setData(indexDataResult.getData());
             WgbNodeHandler.calculateAndSetDepth(whiteNode);
@@ -75,25 +82,30 @@ public final class WhiteNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    WhiteNode<K, T> delete(WhiteNode<K, T> whiteNode, WgbKey<K> key) throws NotFoundException, UniqueException {
+    WhiteNode<K, T> delete(WhiteNode<K, T> whiteNode, WgbKey<K> key, WgbVersion version) {
         if (isNull(whiteNode)) {
-            throw new NotFoundException();
+            return null;
         }
 
         int cmp = key.compareTo(whiteNode.getKey());
 
         if (cmp < 0) {
-            throw new NotFoundException();
-        } else if (cmp > 0) {
+            // white node is the smallest one, key is not in this subtree
+            return whiteNode;
+        }
+
+        whiteNode = mutable(whiteNode, version);
+
+        if (cmp > 0) {
             int index = whiteNode.nextIndex(key);
-            whiteNode.setNode(index, GreyNodeHandler.delete(whiteNode.get(index), key));
+            whiteNode.setNode(index, GreyNodeHandler.delete(whiteNode.get(index), key, version));
         } else {
             var indexDataResult = WgbNodeHandler.getChildNodeWithMinData(whiteNode);
 
             if (isNull(indexDataResult.getIndex())) {
                 return null;
             } else {
-                var popResult = GreyNodeHandler.popMin(whiteNode.get(indexDataResult.getIndex()));
+                var popResult = GreyNodeHandler.popMin(whiteNode.get(indexDataResult.getIndex()), version);
                 whiteNode.setNode(indexDataResult.getIndex(), popResult.getNode());
                 whiteNode.setData(indexDataResult.getData());
                 WgbNodeHandler.calculateAndSetDepth(whiteNode);
@@ -104,17 +116,19 @@ public final class WhiteNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    PopResult<K, T, WhiteNode<K, T>> popMax(WhiteNode<K, T> whiteNode) {
+    PopResult<K, T, WhiteNode<K, T>> popMax(WhiteNode<K, T> whiteNode, WgbVersion version) {
         if (isNull(whiteNode)) {
             return new PopResult<>(null, null);
         }
 
+        whiteNode = mutable(whiteNode, version);
+
         var indexDataResult = WgbNodeHandler.getChildNodeWithMaxData(whiteNode);
 
         if (isNull(indexDataResult.getIndex())) {
             return new PopResult<>(null, whiteNode.getData());
         } else {
-            var popResult = GreyNodeHandler.popMax(whiteNode.get(indexDataResult.getIndex()));
+            var popResult = GreyNodeHandler.popMax(whiteNode.get(indexDataResult.getIndex()), version);
             whiteNode.setNode(indexDataResult.getIndex(), popResult.getNode());
             WgbNodeHandler.calculateAndSetDepth(whiteNode);
 
@@ -123,11 +137,15 @@ public final class WhiteNodeHandler {
     }
 
     public static <K extends Comparable<K>, T>
-    WhiteNode<K, T> insert(WhiteNode<K, T> whiteNode, int capacity, WgbData<K, T> data) throws UniqueException {
+    WhiteNode<K, T> insert(WhiteNode<K, T> whiteNode, int capacity, WgbData<K, T> data, WgbVersion version) {
         if (isNull(whiteNode)) {
-            return new WhiteNode<>(data, capacity);
+            var newNode = new WhiteNode<>(data, capacity);
+            newNode.setVersion(version);
+            return newNode;
         }
 
+        whiteNode = mutable(whiteNode, version);
+
         int cmp = data.getKey().compareTo(whiteNode.getKey());
 
         if (cmp < 0) {
@@ -136,7 +154,8 @@ public final class WhiteNodeHandler {
             GreyNode<K, T> greyNode = GreyNodeHandler.insert(
                     whiteNode.next(nodeData.getKey()),
                     Prime.nextPrime(capacity),
-                    nodeData
+                    nodeData,
+                    version
             );
 
             if (greyNode.getDepth() >= whiteNode.getDepth()) {
@@ -149,7 +168,8 @@ public final class WhiteNodeHandler {
             GreyNode<K, T> greyNode = GreyNodeHandler.insert(
                     whiteNode.next(data.getKey()),
                     Prime.nextPrime(capacity),
-                    data
+                    data,
+                    version
             );
 
             if (greyNode.getDepth() >= whiteNode.getDepth()) {
@@ -158,38 +178,106 @@ public final class WhiteNodeHandler {
 
             whiteNode.setNode(whiteNode.nextIndex(greyNode.getKey()), greyNode);
         } else {
-            throw new UniqueException(String.format("Data %s already exists!", data));
+            whiteNode.setData(data);
         }
 
         return whiteNode;
     }
 
     public static <K extends Comparable<K>, T>
-    List<Entry<K, T>> getAsc(WhiteNode<K, T> whiteNode) {
+    int countLessThan(WhiteNode<K, T> whiteNode, WgbKey<K> key, boolean inclusive) {
         if (isNull(whiteNode)) {
-            return new LinkedList<>();
+            return 0;
         }
 
-        var inOrderLists = collectFromGreyNodes(whiteNode, GreyNodeHandler::getAsc);
-        var result = new LinkedList<Entry<K, T>>();
-        var whiteNodeData = whiteNode.getData();
-        result.add(Map.entry(whiteNodeData.getKey().getValue(), whiteNodeData.getValue()));
-        result.addAll(flatAsc(inOrderLists));
+        int cmp = whiteNode.getKey().compareTo(key);
 
-        return result;
+        if (cmp > 0 || (cmp == 0 && !inclusive)) {
+            // white node is the smallest one, nothing here is less than the key
+            return 0;
+        }
+
+        return 1 + WgbNodeHandler.countLessThanInGreyNodes(whiteNode, key, inclusive);
     }
 
     public static <K extends Comparable<K>, T>
-    List<Entry<K, T>> getDesc(WhiteNode<K, T> whiteNode) {
+    Entry<K, T> select(WhiteNode<K, T> whiteNode, int index) {
+        return index == 0 ? whiteNode.toMapEntry() : WgbNodeHandler.selectFromGreyNodes(whiteNode, index - 1);
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> floor(WhiteNode<K, T> whiteNode, WgbKey<K> key, boolean inclusive) {
         if (isNull(whiteNode)) {
-            return new LinkedList<>();
+            return null;
         }
 
-        var inOrderLists = collectFromGreyNodes(whiteNode, GreyNodeHandler::getDesc);
-        var result = flatDesc(inOrderLists);
-        result.add(whiteNode.toMapEntry());
+        int cmp = whiteNode.getKey().compareTo(key);
 
-        return result;
+        if (cmp > 0 || (cmp == 0 && !inclusive)) {
+            // white node is the smallest one, nothing here is below the key
+            return null;
+        } else if (cmp == 0) {
+            return whiteNode.getData();
+        }
+
+        WgbData<K, T> floor = WgbNodeHandler.floorInGreyNodes(whiteNode, key, inclusive);
+
+        return Objects.nonNull(floor) ? floor : whiteNode.getData();
+    }
+
+    public static <K extends Comparable<K>, T>
+    WgbData<K, T> ceiling(WhiteNode<K, T> whiteNode, WgbKey<K> key, boolean inclusive) {
+        if (isNull(whiteNode)) {
+            return null;
+        }
+
+        int cmp = whiteNode.getKey().compareTo(key);
+
+        if (cmp > 0 || (cmp == 0 && inclusive)) {
+            // white node is the smallest one, so it is the ceiling of the whole subtree
+            return whiteNode.getData();
+        }
+
+        return WgbNodeHandler.ceilingInGreyNodes(whiteNode, key, inclusive);
+    }
+
+    public static <K extends Comparable<K>, T>
+    WhiteNode<K, T> build(WgbData<K, T>[] sorted, int from, int to, int capacity, WgbData<K, T>[] buffer) {
+        if (from >= to) {
+            return null;
+        }
+
+        var whiteNode = new WhiteNode<>(sorted[from], capacity);
+        WgbNodeHandler.buildGreyNodes(whiteNode, sorted, from + 1, to, buffer);
+
+        return whiteNode;
+    }
+
+    public static <K extends Comparable<K>, T>
+    Iterator<Entry<K, T>> iterator(WhiteNode<K, T> whiteNode, WgbRange<K> range, boolean asc) {
+        if (isNull(whiteNode) || range.isAbove(whiteNode.getKey())) {
+            // white node is the smallest one
+            // if it is above the range, all child nodes are as well
+            return Collections.emptyIterator();
+        }
+
+        Supplier<Iterator<Entry<K, T>>> self = () -> range.contains(whiteNode.getKey()) ?
+                Collections.singletonList(whiteNode.toMapEntry()).iterator() :
+                Collections.emptyIterator();
+        Supplier<Iterator<Entry<K, T>>> children = () ->
+                mergeFromGreyNodes(whiteNode, node -> GreyNodeHandler.iterator(node, range, asc), asc);
+
+        return asc ? ConcatIterator.of(self, children) : ConcatIterator.of(children, self);
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> getAsc(WhiteNode<K, T> whiteNode) {
+        return WgbNodeHandler.toList(iterator(whiteNode, WgbRange.all(), true));
+    }
+
+    public static <K extends Comparable<K>, T>
+    List<Entry<K, T>> getDesc(WhiteNode<K, T> whiteNode) {
+        return WgbNodeHandler.toList(iterator(whiteNode, WgbRange.all(), false));
     }
 
     public static <K extends Comparable<K>, T>
@@ -34,4 +34,9 @@ public class BlackNode<K extends Comparable<K>, T> extends NonGreyNode<K, T> imp
     public BlackNode(WgbData<K, T> data, int capacity) {
         super(data, capacity);
     }
+
+    @Override
+    public BlackNode<K, T> copy() {
+        return copyTo(new BlackNode<>());
+    }
 }
\ No newline at end of file
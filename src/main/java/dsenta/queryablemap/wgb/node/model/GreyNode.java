@@ -43,6 +43,11 @@ public class GreyNode<K extends Comparable<K>, T> extends WgbNode<K, T> implemen
         return key.compareTo(this.getKey()) > 0 ? RIGHT : LEFT;
     }
 
+    @Override
+    public int nextIndexOf(K key) {
+        return key.compareTo(this.getKey().getValue()) > 0 ? RIGHT : LEFT;
+    }
+
     public WhiteNode<K, T> getWhiteNode() {
         return (WhiteNode<K, T>) this.get(LEFT);
     }
@@ -58,4 +63,9 @@ public class GreyNode<K extends Comparable<K>, T> extends WgbNode<K, T> implemen
     public void setBlackNode(BlackNode<K, T> node) {
         this.setNode(RIGHT, node);
     }
+
+    @Override
+    public GreyNode<K, T> copy() {
+        return copyTo(new GreyNode<>());
+    }
 }
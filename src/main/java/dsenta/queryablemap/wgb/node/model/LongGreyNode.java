@@ -0,0 +1,58 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.model;
+
+import java.io.Serializable;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class LongGreyNode<T> extends LongWgbNode<T> implements Serializable {
+    private static final long serialVersionUID = -4903914101917655236L;
+
+    public LongGreyNode(long key, T value) {
+        super(key, value, GreyNode.TOTAL);
+    }
+
+    @Override
+    public int nextIndex(long key) {
+        return key > this.getKey() ? GreyNode.RIGHT : GreyNode.LEFT;
+    }
+
+    public LongWhiteNode<T> getWhiteNode() {
+        return (LongWhiteNode<T>) this.get(GreyNode.LEFT);
+    }
+
+    public LongBlackNode<T> getBlackNode() {
+        return (LongBlackNode<T>) this.get(GreyNode.RIGHT);
+    }
+
+    public void setWhiteNode(LongWhiteNode<T> node) {
+        this.setNode(GreyNode.LEFT, node);
+    }
+
+    public void setBlackNode(LongBlackNode<T> node) {
+        this.setNode(GreyNode.RIGHT, node);
+    }
+}
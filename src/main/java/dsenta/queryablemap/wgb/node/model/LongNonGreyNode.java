@@ -0,0 +1,48 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.model;
+
+import java.io.Serializable;
+
+import dsenta.queryablemap.wgb.node.util.Mod;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class LongNonGreyNode<T> extends LongWgbNode<T> implements Serializable {
+    private static final long serialVersionUID = 5530461378893137214L;
+
+    public LongNonGreyNode(long key, T value, int capacity) {
+        super(key, value, capacity);
+    }
+
+    @Override
+    public LongGreyNode<T> get(int index) {
+        return (LongGreyNode<T>) super.get(index);
+    }
+
+    @Override
+    public int nextIndex(long key) {
+        return Mod.fastMod(Long.hashCode(key) & Integer.MAX_VALUE, this.getCapacity());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public abstract class LongWgbNode<T> implements Serializable {
+    private static final long serialVersionUID = -2385533474000929781L;
+    private long key;
+    private T value;
+    private int depth;
+    private int capacity;
+    private LongWgbNode<T>[] nodes;
+
+    public LongWgbNode(long key, T value, int capacity) {
+        this.key = key;
+        this.value = value;
+        this.depth = 1;
+        this.capacity = capacity;
+    }
+
+    public abstract int nextIndex(long key);
+
+    public LongWgbNode<T> get(int index) {
+        return Objects.isNull(nodes) ? null : nodes[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public void setNode(int index, LongWgbNode<T> node) {
+        nodes = Objects.isNull(nodes) ? (LongWgbNode<T>[]) new LongWgbNode<?>[capacity] : nodes;
+        nodes[index] = node;
+    }
+
+    public void setData(long key, T value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public void setData(LongWgbNode<T> node) {
+        setData(node.getKey(), node.getValue());
+    }
+}
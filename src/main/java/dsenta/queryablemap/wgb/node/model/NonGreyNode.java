@@ -49,4 +49,14 @@ public class NonGreyNode<K extends Comparable<K>, T> extends WgbNode<K, T> imple
     public int nextIndex(WgbKey<K> key) {
         return Mod.fastMod(Math.abs(key.hashCode()), this.getCapacity());
     }
+
+    @Override
+    public int nextIndexOf(K key) {
+        return Mod.fastMod(Math.abs(key.hashCode()), this.getCapacity());
+    }
+
+    @Override
+    public NonGreyNode<K, T> copy() {
+        return copyTo(new NonGreyNode<>());
+    }
 }
\ No newline at end of file
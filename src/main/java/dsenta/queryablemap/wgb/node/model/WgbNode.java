@@ -43,17 +43,36 @@ public abstract class WgbNode<K extends Comparable<K>, T> implements Serializabl
     private static final long serialVersionUID = 3740285769178156368L;
     private int depth;
     private int capacity;
+    // Number of entries in this subtree, kept up to date by setNode
+    private int size;
     private WgbData<K, T> data;
     private WgbNode<K, T>[] nodes;
+    private transient WgbVersion version;
 
     public WgbNode(WgbData<K, T> data, int capacity) {
         this.data = data;
         this.depth = 1;
         this.capacity = capacity;
+        this.size = 1;
     }
 
     public abstract int nextIndex(WgbKey<K> key);
 
+    // Same as nextIndex, for lookups which do not wrap the key
+    public abstract int nextIndexOf(K key);
+
+    public abstract WgbNode<K, T> copy();
+
+    protected <N extends WgbNode<K, T>> N copyTo(N copy) {
+        copy.setDepth(depth);
+        copy.setCapacity(capacity);
+        copy.setSize(size);
+        copy.setData(data);
+        copy.setNodes(Objects.isNull(nodes) ? null : nodes.clone());
+
+        return copy;
+    }
+
     public WgbKey<K> getKey() {
         return data.getKey();
     }
@@ -66,6 +85,14 @@ public abstract class WgbNode<K extends Comparable<K>, T> implements Serializabl
     public void setNode(int index, WgbNode<K, T> node) {
         nodes = Objects.isNull(nodes) ? new WgbNode[capacity] : nodes;
         nodes[index] = node;
+
+        int subtreeSize = 1;
+
+        for (WgbNode<K, T> child : nodes) {
+            subtreeSize += Objects.isNull(child) ? 0 : child.size;
+        }
+
+        size = subtreeSize;
     }
 
     public void setKey(WgbKey<K> key) {
@@ -0,0 +1,79 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.model;
+
+import static java.util.Objects.isNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@AllArgsConstructor
+@Builder
+@Data
+public class WgbRange<K extends Comparable<K>> {
+    WgbKey<K> low;
+    boolean lowInclusive;
+    WgbKey<K> high;
+    boolean highInclusive;
+
+    public static <K extends Comparable<K>>
+    WgbRange<K> all() {
+        return new WgbRange<>(null, false, null, false);
+    }
+
+    public static <K extends Comparable<K>>
+    WgbRange<K> of(K low, boolean lowInclusive, K high, boolean highInclusive) {
+        return new WgbRange<>(
+                isNull(low) ? null : new WgbKey<>(low),
+                lowInclusive,
+                isNull(high) ? null : new WgbKey<>(high),
+                highInclusive
+        );
+    }
+
+    public boolean isBelow(WgbKey<K> key) {
+        if (isNull(low)) {
+            return false;
+        }
+
+        int cmp = key.compareTo(low);
+
+        return lowInclusive ? cmp < 0 : cmp <= 0;
+    }
+
+    public boolean isAbove(WgbKey<K> key) {
+        if (isNull(high)) {
+            return false;
+        }
+
+        int cmp = key.compareTo(high);
+
+        return highInclusive ? cmp > 0 : cmp >= 0;
+    }
+
+    public boolean contains(WgbKey<K> key) {
+        return !isBelow(key) && !isAbove(key);
+    }
+}
@@ -34,4 +34,9 @@ public class WhiteNode<K extends Comparable<K>, T> extends NonGreyNode<K, T> imp
     public WhiteNode(WgbData<K, T> data, int capacity) {
         super(data, capacity);
     }
+
+    @Override
+    public WhiteNode<K, T> copy() {
+        return copyTo(new WhiteNode<>());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public class LongEntryBuffer<T> {
+    private long[] keys = new long[16];
+    private Object[] values = new Object[16];
+    private long[] mergeKeys;
+    private Object[] mergeValues;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public long getKey(int index) {
+        return keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getValue(int index) {
+        return (T) values[index];
+    }
+
+    public void add(long key, T value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        keys[size] = key;
+        values[size++] = value;
+    }
+
+    // Run i spans [starts[i], starts[i + 1]), adjacent runs are merged pairwise
+    public void mergeRuns(int[] starts, int runs) {
+        if (runs < 2) {
+            return;
+        }
+
+        if (Objects.isNull(mergeKeys) || mergeKeys.length < keys.length) {
+            mergeKeys = new long[keys.length];
+            mergeValues = new Object[keys.length];
+        }
+
+        int end = starts[runs];
+
+        while (runs > 1) {
+            int merged = 0;
+
+            for (int i = 0; i < runs; i += 2) {
+                int from = starts[i];
+
+                if (i + 1 < runs) {
+                    merge(from, starts[i + 1], i + 2 < runs ? starts[i + 2] : end);
+                }
+
+                starts[merged++] = from;
+            }
+
+            starts[merged] = end;
+            runs = merged;
+        }
+    }
+
+    private void merge(int from, int middle, int to) {
+        int left = from;
+        int right = middle;
+        int index = from;
+
+        while (left < middle && right < to) {
+            if (keys[left] < keys[right]) {
+                mergeKeys[index] = keys[left];
+                mergeValues[index++] = values[left++];
+            } else {
+                mergeKeys[index] = keys[right];
+                mergeValues[index++] = values[right++];
+            }
+        }
+
+        while (left < middle) {
+            mergeKeys[index] = keys[left];
+            mergeValues[index++] = values[left++];
+        }
+
+        System.arraycopy(mergeKeys, from, keys, from, right - from);
+        System.arraycopy(mergeValues, from, values, from, right - from);
+    }
+}
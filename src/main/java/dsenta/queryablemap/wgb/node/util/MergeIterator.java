@@ -0,0 +1,90 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2022 Duje Senta
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dsenta.queryablemap.wgb.node.util;
+
+import static java.util.Objects.isNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import lombok.AllArgsConstructor;
+
+public class MergeIterator<K extends Comparable<K>, T> implements Iterator<Entry<K, T>> {
+    private final List<Iterator<Entry<K, T>>> iterators;
+    private final boolean asc;
+    private PriorityQueue<Head<K, T>> heads;
+
+    public MergeIterator(List<Iterator<Entry<K, T>>> iterators, boolean asc) {
+        this.iterators = iterators;
+        this.asc = asc;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (isNull(heads)) {
+            fillHeads();
+        }
+
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Entry<K, T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var head = heads.poll();
+        var result = head.entry;
+
+        if (head.iterator.hasNext()) {
+            // Reuse the head, only the entry changes
+            head.entry = head.iterator.next();
+            heads.add(head);
+        }
+
+        return result;
+    }
+
+    private void fillHeads() {
+        Comparator<Head<K, T>> byKey = (x, y) -> x.entry.getKey().compareTo(y.entry.getKey());
+        heads = new PriorityQueue<>(Math.max(1, iterators.size()), asc ? byKey : byKey.reversed());
+
+        for (var iterator : iterators) {
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Head<K extends Comparable<K>, T> {
+        Entry<K, T> entry;
+        Iterator<Entry<K, T>> iterator;
+    }
+}
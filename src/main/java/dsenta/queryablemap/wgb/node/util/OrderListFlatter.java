@@ -23,67 +23,34 @@
  */
 package dsenta.queryablemap.wgb.node.util;
 
-import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
-import dsenta.queryablemap.exception.ShouldNeverHappenException;
-
 public class OrderListFlatter {
 
     public static <T, K extends Comparable<K>>
     List<Entry<K, T>> flatAsc(List<List<Entry<K, T>>> inOrderLists) {
-        List<Entry<K, T>> result = new LinkedList<>();
-
-        inOrderLists = inOrderLists
-                .stream()
-                .filter(list -> !list.isEmpty())
-                .collect(Collectors.toList());
-
-        while (!inOrderLists.isEmpty()) {
-            List<Entry<K, T>> minList = inOrderLists
-                    .stream()
-                    .min(Comparator.comparing(list -> list.get(0).getKey()))
-                    .orElseThrow(ShouldNeverHappenException::new);
-
-            result.add(minList.get(0));
-            minList.remove(0);
-
-            inOrderLists = inOrderLists
-                    .stream()
-                    .filter(list -> !list.isEmpty())
-                    .collect(Collectors.toList());
-        }
-
-        return result;
+        return flat(inOrderLists, true);
     }
 
     public static <T, K extends Comparable<K>>
     List<Entry<K, T>> flatDesc(List<List<Entry<K, T>>> inOrderLists) {
-        List<Entry<K, T>> result = new LinkedList<>();
-
-        inOrderLists = inOrderLists
-                .stream()
-                .filter(list -> !list.isEmpty())
-                .collect(Collectors.toList());
+        return flat(inOrderLists, false);
+    }
 
-        while (!inOrderLists.isEmpty()) {
-            List<Entry<K, T>> maxList = inOrderLists
-                    .stream()
-                    .max(Comparator.comparing(list -> list.get(0).getKey()))
-                    .orElseThrow(ShouldNeverHappenException::new);
+    private static <T, K extends Comparable<K>>
+    List<Entry<K, T>> flat(List<List<Entry<K, T>>> inOrderLists, boolean asc) {
+        int size = inOrderLists.stream().mapToInt(List::size).sum();
+        List<Entry<K, T>> result = new ArrayList<>(size);
 
-            result.add(maxList.get(0));
-            maxList.remove(0);
+        var iterators = inOrderLists.stream()
+                .map(List::iterator)
+                .collect(Collectors.toList());
 
-            inOrderLists = inOrderLists
-                    .stream()
-                    .filter(list -> !list.isEmpty())
-                    .collect(Collectors.toList());
-        }
+        new MergeIterator<>(iterators, asc).forEachRemaining(result::add);
 
         return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+package dsenta.queryablemap.art
+
+import dsenta.queryablemap.codec.KeyCodec
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.util.TreeMap
+import kotlin.random.Random
+
+internal class AdaptiveRadixTreeTest {
+    private val names = listOf("Iva", "Mijo", "Miljenko", "Miljenka", "Mate", "Matea", "Petar", "Petra", "Ante", "Tomislav")
+
+    @Test
+    fun insert() {
+        // Given
+        val tree = AdaptiveRadixTree<String, String>()
+
+        // When
+        names.forEach { tree[it] = it }
+
+        // Then
+        assertThat(tree).hasSize(names.size)
+        names.forEach { assertThat(tree[it]).isEqualTo(it) }
+        assertThat(tree["Mil"]).isNull()
+        assertThat(tree["Miljenkoo"]).isNull()
+        assertThat(tree[null]).isNull()
+        assertThat(tree.put("Mate", "Mate2")).isEqualTo("Mate")
+        assertThat(tree.getByKey("Mate").value).isEqualTo("Mate2")
+        // Root, M, Mate, Mi, Miljenk and Pet are inner nodes, everything else is a leaf
+        assertThat(tree.numberOfEmptyNodes).isEqualTo(6)
+        assertThat(tree.numberOfNodes).isEqualTo(6 + names.size)
+    }
+
+    @Test
+    fun growsAndShrinksThroughEveryNodeSize() {
+        // Given
+        val tree = AdaptiveRadixTree<Int, Int>()
+        val keys = (0 until 256).shuffled(Random(3))
+
+        keys.forEachIndexed { index, key ->
+            // When
+            tree[key] = key
+
+            // Then
+            assertThat(tree).hasSize(index + 1)
+            assertThat(tree.keys).containsExactlyElementsOf(keys.take(index + 1).sorted())
+        }
+
+        // Keys share their three high bytes, so all of them hang from a single node
+        assertThat(tree.numberOfNodes).isEqualTo(2 + keys.size)
+        assertThat(tree.depth()).isEqualTo(2)
+
+        keys.forEachIndexed { index, key ->
+            // When
+            assertThat(tree.remove(key)).isEqualTo(key)
+
+            // Then
+            assertThat(tree.containsKey(key)).isFalse
+            assertThat(tree.keys).containsExactlyElementsOf(keys.drop(index + 1).sorted())
+
+            if (index == keys.size - 2) {
+                // Last key left is pulled up under the root
+                assertThat(tree.numberOfNodes).isEqualTo(2)
+                assertThat(tree.depth()).isEqualTo(1)
+            }
+        }
+
+        assertThat(tree).isEmpty()
+        assertThat(tree.numberOfNodes).isEqualTo(1)
+    }
+
+    @Test
+    fun keysWhichArePrefixesOfOtherKeys() {
+        // Given
+        val tree = AdaptiveRadixTree<String, String>()
+        val keys = listOf("abc", "a", "", "ab", "abcd", "abd", "b")
+
+        // When
+        keys.forEach { tree[it] = it }
+
+        // Then
+        assertThat(tree.keys).containsExactly("", "a", "ab", "abc", "abcd", "abd", "b")
+        assertThat(tree.descendingKeySet()).containsExactly("b", "abd", "abcd", "abc", "ab", "a", "")
+        assertThat(tree.getBetweenAsc("a", "abc").map { it.key }).containsExactly("a", "ab", "abc")
+        assertThat(tree.getBiggerThanDesc("ab").map { it.key }).containsExactly("b", "abd", "abcd", "abc")
+        assertThat(tree.min).isEqualTo("")
+        assertThat(tree.max).isEqualTo("b")
+
+        // When
+        listOf("ab", "abc", "").forEach { assertThat(tree.remove(it)).isEqualTo(it) }
+
+        // Then
+        assertThat(tree.keys).containsExactly("a", "abcd", "abd", "b")
+        assertThat(tree.getLessThanAsc("abd").map { it.key }).containsExactly("a", "abcd")
+        assertThat(tree.min).isEqualTo("a")
+    }
+
+    @Test
+    fun signedKeysKeepTheirNumericOrder() {
+        // Given
+        val tree = AdaptiveRadixTree<Long, String>(KeyCodec.ofLong())
+        val keys = listOf(Long.MIN_VALUE, -1_000_000_000_000L, -256L, -1L, 0L, 1L, 255L, 256L, Long.MAX_VALUE)
+
+        // When
+        keys.shuffled(Random(5)).forEach { tree[it] = it.toString() }
+
+        // Then
+        assertThat(tree.keys).containsExactlyElementsOf(keys)
+        assertThat(tree.getLessThanDesc(0L).map { it.key }).containsExactly(-1L, -256L, -1_000_000_000_000L, Long.MIN_VALUE)
+        assertThat(tree.getBiggerThanEqualsAsc(-1L).map { it.key }).containsExactly(-1L, 0L, 1L, 255L, 256L, Long.MAX_VALUE)
+        assertThat(tree.firstKey()).isEqualTo(Long.MIN_VALUE)
+        assertThat(tree.ceilingKey(2L)).isEqualTo(255L)
+    }
+
+    @Test
+    fun ranges() {
+        // Given
+        val tree = AdaptiveRadixTree<String, String>()
+        names.forEach { tree[it] = it }
+
+        // Then
+        assertThat(tree.getBiggerThanAsc("Mil").map { it.key })
+                .containsExactly("Miljenka", "Miljenko", "Petar", "Petra", "Tomislav")
+        assertThat(tree.getLessThanAsc("Mi").map { it.key }).containsExactly("Ante", "Iva", "Mate", "Matea")
+        assertThat(tree.getLessThanEqualsDesc("Matea").map { it.key }).containsExactly("Matea", "Mate", "Iva", "Ante")
+        assertThat(tree.getBetweenDesc("M", "N").map { it.key })
+                .containsExactly("Miljenko", "Miljenka", "Mijo", "Matea", "Mate")
+        assertThat(tree.getNotEqualsAsc("Ante").map { it.key }).hasSize(names.size - 1).doesNotContain("Ante")
+        assertThat(tree.getBiggerThanAsc("Z")).isEmpty()
+        assertThat(tree.getLessThanDesc("A")).isEmpty()
+        assertThat(tree.getBiggerThanAsc("Mate", 2, 3).map { it.key }).containsExactly("Miljenka", "Miljenko", "Petar")
+    }
+
+    @Test
+    fun matchesSortedMap() {
+        // Given
+        val random = Random(42)
+        val tree = AdaptiveRadixTree<Int, Int>()
+        val expected = TreeMap<Int, Int>()
+        fun key() = if (random.nextBoolean()) random.nextInt(-2_000, 2_000) else random.nextInt()
+
+        repeat(20_000) {
+            val key = key()
+
+            // When
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(key)).isEqualTo(expected.remove(key))
+            } else {
+                assertThat(tree.put(key, it)).isEqualTo(expected.put(key, it))
+            }
+        }
+
+        // Then
+        assertThat(tree).hasSize(expected.size)
+        assertThat(tree.entries.map { it.toPair() }).containsExactlyElementsOf(expected.entries.map { it.toPair() })
+        assertThat(tree.min).isEqualTo(expected.firstKey())
+        assertThat(tree.max).isEqualTo(expected.lastKey())
+        // Compacted, every inner node below the root branches
+        assertThat(tree.numberOfEmptyNodes).isLessThan(expected.size)
+
+        repeat(200) {
+            val low = key()
+            val high = key()
+            assertThat(tree.getBiggerThanAsc(low).map { it.key }).containsExactlyElementsOf(expected.tailMap(low, false).keys)
+            assertThat(tree.getBiggerThanEqualsDesc(low).map { it.key })
+                    .containsExactlyElementsOf(expected.tailMap(low, true).descendingMap().keys)
+            assertThat(tree.getLessThanDesc(high).map { it.key })
+                    .containsExactlyElementsOf(expected.headMap(high, false).descendingMap().keys)
+            assertThat(tree.getLessThanEqualsAsc(high).map { it.key }).containsExactlyElementsOf(expected.headMap(high, true).keys)
+
+            if (low <= high) {
+                assertThat(tree.getBetweenAsc(low, high).map { it.key })
+                        .containsExactlyElementsOf(expected.subMap(low, true, high, true).keys)
+            }
+        }
+    }
+
+    @Test
+    fun matchesSortedStringMap() {
+        // Given
+        val random = Random(11)
+        val tree = AdaptiveRadixTree<String, Int>()
+        val expected = TreeMap<String, Int>()
+        val alphabet = "abc"
+        fun key() = (0..random.nextInt(0, 7)).joinToString("") { alphabet[random.nextInt(alphabet.length)].toString() }
+
+        repeat(4_000) {
+            val key = key()
+
+            // When
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(key)).isEqualTo(expected.remove(key))
+            } else {
+                assertThat(tree.put(key, it)).isEqualTo(expected.put(key, it))
+            }
+        }
+
+        // Then
+        assertThat(tree.entries.map { it.toPair() }).containsExactlyElementsOf(expected.entries.map { it.toPair() })
+
+        repeat(200) {
+            val low = key()
+            val high = key()
+            assertThat(tree.getBiggerThanEqualsAsc(low).map { it.key }).containsExactlyElementsOf(expected.tailMap(low, true).keys)
+            assertThat(tree.getLessThanDesc(high).map { it.key })
+                    .containsExactlyElementsOf(expected.headMap(high, false).descendingMap().keys)
+
+            if (low <= high) {
+                assertThat(tree.getBetweenDesc(low, high).map { it.key })
+                        .containsExactlyElementsOf(expected.subMap(low, true, high, true).descendingMap().keys)
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package dsenta.queryablemap.codec
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import java.util.Arrays
+import java.util.UUID
+import kotlin.random.Random
+
+internal class KeyCodecTest {
+    private val random = Random(17)
+
+    private fun <K> assertOrderPreserved(codec: KeyCodec<K>, keys: List<K>, order: Comparator<K>) {
+        val byKey = keys.sortedWith(order)
+        val byBytes = keys.sortedWith { a, b -> Arrays.compareUnsigned(codec.encode(a), codec.encode(b)) }
+        assertThat(byBytes).containsExactlyElementsOf(byKey)
+
+        // Equal encodings only for equal keys
+        keys.forEach { a ->
+            val b = keys[random.nextInt(keys.size)]
+            assertThat(Arrays.equals(codec.encode(a), codec.encode(b))).isEqualTo(order.compare(a, b) == 0)
+        }
+    }
+
+    @Test
+    fun ints() {
+        val keys = List(2_000) { random.nextInt() } + listOf(Int.MIN_VALUE, -1, 0, 1, Int.MAX_VALUE)
+        assertOrderPreserved(KeyCodec.ofInt(), keys, naturalOrder())
+        assertThat(KeyCodec.ofInt().encode(0)).containsExactly(0x80, 0, 0, 0)
+    }
+
+    @Test
+    fun longs() {
+        val keys = List(2_000) { random.nextLong() } + listOf(Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE)
+        assertOrderPreserved(KeyCodec.ofLong(), keys, naturalOrder())
+    }
+
+    @Test
+    fun strings() {
+        // Mixes ASCII, two and three byte chars, surrogate pairs and lone surrogates
+        val chars = "a\u0000zé߿ࠀꯍ😀￿"
+        val keys = List(2_000) { (0 until random.nextInt(0, 6)).map { chars[random.nextInt(chars.length)] }.joinToString("") }
+        assertOrderPreserved(KeyCodec.ofString(), keys, naturalOrder())
+        assertThat(KeyCodec.ofString().encode("Mate")).isEqualTo("Mate".toByteArray())
+        assertThat(KeyCodec.ofString().encode("\ud800")).isNotEqualTo(KeyCodec.ofString().encode("?"))
+    }
+
+    @Test
+    fun stringForm() {
+        val keys = List(500) { random.nextInt(-1_000, 1_000) }
+        assertOrderPreserved(KeyCodec.ofStringForm(), keys, compareBy { it.toString() })
+    }
+
+    @Test
+    fun uuids() {
+        val keys = List(2_000) { UUID(random.nextLong(), random.nextLong()) } + UUID(0, 0) + UUID(-1, -1)
+        assertOrderPreserved(KeyCodec.ofUuid(), keys, naturalOrder())
+    }
+
+    @Test
+    fun composite() {
+        // Parts which prefix each other or hold zero bytes must not bleed into the next part
+        val names = listOf("", "a", "ab", "a\u0000", "a\u0000b", "b")
+        val keys = names.flatMap { name -> listOf(-1, 0, 1, 256).map { name to it } }
+        val codec = KeyCodec.composite(
+                KeyCodec.ofString().compose<Pair<String, Int>> { it.first },
+                KeyCodec.ofInt().compose { it.second })
+
+        assertOrderPreserved(codec, keys, compareBy<Pair<String, Int>> { it.first }.thenBy { it.second })
+    }
+
+    @Test
+    fun natural() {
+        val codec = KeyCodec.natural<Any>()
+
+        assertThat(codec.encode(5)).isEqualTo(KeyCodec.ofInt().encode(5))
+        assertThat(codec.encode(5L)).isEqualTo(KeyCodec.ofLong().encode(5L))
+        assertThat(codec.encode("5")).isEqualTo(KeyCodec.ofString().encode("5"))
+        assertThat(codec.encode(UUID(1, 2))).isEqualTo(KeyCodec.ofUuid().encode(UUID(1, 2)))
+        assertThatThrownBy { codec.encode(5.0) }.isInstanceOf(IllegalArgumentException::class.java)
+    }
+}
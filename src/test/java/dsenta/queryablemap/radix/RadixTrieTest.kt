@@ -0,0 +1,217 @@
+package dsenta.queryablemap.radix
+
+import dsenta.queryablemap.codec.KeyCodec
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.util.TreeMap
+import kotlin.random.Random
+
+internal class RadixTrieTest {
+    private val names = listOf("Iva", "Mijo", "Miljenko", "Miljenka", "Mate", "Matea", "Petar", "Petra", "Ante", "Tomislav")
+
+    @Test
+    fun insert() {
+        // Given
+        val trie = RadixTrie<String, String>()
+
+        // When
+        names.forEach { trie[it] = it }
+
+        // Then
+        assertThat(trie).hasSize(names.size)
+        names.forEach { assertThat(trie[it]).isEqualTo(it) }
+        assertThat(trie["Mil"]).isNull()
+        assertThat(trie["Miljenkoo"]).isNull()
+        assertThat(trie.put("Mate", "Mate2")).isEqualTo("Mate")
+        assertThat(trie.getByKey("Mate").value).isEqualTo("Mate2")
+        // M, Mi, Miljenk and Pet are the only nodes without a value
+        assertThat(trie.numberOfNodes).isEqualTo(1 + names.size + 4)
+        assertThat(trie.numberOfEmptyNodes).isEqualTo(1 + 4)
+    }
+
+    @Test
+    fun delete() {
+        // Given
+        val trie = RadixTrie<String, String>()
+        names.forEach { trie[it] = it }
+        val deleted = arrayListOf<String>()
+
+        names.shuffled(Random(7)).forEach {
+            deleted += it
+
+            // When
+            assertThat(trie.remove(it)).isEqualTo(it)
+
+            // Then
+            assertThat(trie).hasSize(names.size - deleted.size)
+            names.forEach { name -> assertThat(trie.containsKey(name)).isEqualTo(!deleted.contains(name)) }
+            assertThat(trie.keys).containsExactlyElementsOf(names.filter { name -> !deleted.contains(name) }.sorted())
+        }
+
+        assertThat(trie.numberOfNodes).isEqualTo(1)
+        assertThat(trie.remove("Iva")).isNull()
+        assertThat(trie.remove(null)).isNull()
+    }
+
+    @Test
+    fun deleteMergesEdges() {
+        // Given
+        val trie = RadixTrie<String, String>()
+        listOf("junit", "junit2", "junit3").forEach { trie[it] = it }
+
+        // When
+        trie.remove("junit")
+        trie.remove("junit3")
+
+        // Then
+        assertThat(trie).hasSize(1).containsKey("junit2").doesNotContainKey("junit")
+        assertThat(trie.numberOfNodes).isEqualTo(2)
+        assertThat(trie.depth()).isEqualTo(1)
+    }
+
+    @Test
+    fun nullAndEmptyKeysLiveInTheRoot() {
+        // Given
+        val trie = RadixTrie<String, String>()
+        trie["a"] = "a"
+
+        // When
+        trie[""] = "empty"
+
+        // Then
+        assertThat(trie.asc.map { it.key }).containsExactly("", "a")
+        assertThat(trie.min).isEqualTo("")
+        assertThat(trie.remove("")).isEqualTo("empty")
+        assertThat(trie.min).isEqualTo("a")
+    }
+
+    @Test
+    fun ranges() {
+        // Given
+        val trie = RadixTrie<String, String>()
+        names.forEach { trie[it] = it }
+
+        // Then
+        assertThat(trie.asc.map { it.key })
+                .containsExactly("Ante", "Iva", "Mate", "Matea", "Mijo", "Miljenka", "Miljenko", "Petar", "Petra", "Tomislav")
+        assertThat(trie.getBiggerThanAsc("Mil").map { it.key })
+                .containsExactly("Miljenka", "Miljenko", "Petar", "Petra", "Tomislav")
+        assertThat(trie.getBiggerThanDesc("Miljenka").map { it.key })
+                .containsExactly("Tomislav", "Petra", "Petar", "Miljenko")
+        assertThat(trie.getLessThanAsc("Mi").map { it.key }).containsExactly("Ante", "Iva", "Mate", "Matea")
+        assertThat(trie.getLessThanEqualsDesc("Matea").map { it.key }).containsExactly("Matea", "Mate", "Iva", "Ante")
+        assertThat(trie.getBetweenAsc("Ma", "Mijo").map { it.key }).containsExactly("Mate", "Matea", "Mijo")
+        assertThat(trie.getBetweenDesc("M", "N").map { it.key })
+                .containsExactly("Miljenko", "Miljenka", "Mijo", "Matea", "Mate")
+        assertThat(trie.getNotEqualsAsc("Ante").map { it.key }).hasSize(names.size - 1).doesNotContain("Ante")
+        assertThat(trie.getBiggerThanAsc("Z")).isEmpty()
+        assertThat(trie.getLessThanDesc("A")).isEmpty()
+        assertThat(trie.min).isEqualTo("Ante")
+        assertThat(trie.max).isEqualTo("Tomislav")
+        assertThat(trie.getBiggerThanAsc("Mate", 2, 3).map { it.key }).containsExactly("Miljenka", "Miljenko", "Petar")
+    }
+
+    @Test
+    fun matchesSortedMap() {
+        // Given
+        val random = Random(42)
+        val trie = RadixTrie<String, Int>()
+        val expected = TreeMap<String, Int>()
+        val alphabet = "abc"
+        fun key() = (1..random.nextInt(0, 7)).map { alphabet[random.nextInt(alphabet.length)] }.joinToString("")
+
+        repeat(4_000) {
+            val key = key()
+
+            // When
+            if (random.nextInt(3) == 0) {
+                assertThat(trie.remove(key)).isEqualTo(expected.remove(key))
+            } else {
+                assertThat(trie.put(key, it)).isEqualTo(expected.put(key, it))
+            }
+        }
+
+        // Then
+        assertThat(trie).hasSize(expected.size)
+        assertThat(trie.entries.map { it.toPair() }).containsExactlyElementsOf(expected.entries.map { it.toPair() })
+        assertThat(trie.min).isEqualTo(expected.firstKey())
+        assertThat(trie.max).isEqualTo(expected.lastKey())
+        // Compacted, every node below the root holds a value or branches
+        assertThat(trie.numberOfNodes).isLessThanOrEqualTo(2 * expected.size)
+
+        repeat(200) {
+            val low = key()
+            val high = key()
+            assertThat(trie.getBiggerThanAsc(low).map { it.key }).containsExactlyElementsOf(expected.tailMap(low, false).keys)
+            assertThat(trie.getBiggerThanEqualsDesc(low).map { it.key })
+                    .containsExactlyElementsOf(expected.tailMap(low, true).descendingMap().keys)
+            assertThat(trie.getLessThanDesc(high).map { it.key })
+                    .containsExactlyElementsOf(expected.headMap(high, false).descendingMap().keys)
+            assertThat(trie.getLessThanEqualsAsc(high).map { it.key }).containsExactlyElementsOf(expected.headMap(high, true).keys)
+
+            assertThat(trie.headMap(high).keys).containsExactlyElementsOf(expected.headMap(high).keys)
+            assertThat(trie.tailMap(low, false).keys).containsExactlyElementsOf(expected.tailMap(low, false).keys)
+            assertThat(trie.higherKey(low)).isEqualTo(expected.higherKey(low))
+
+            if (low <= high) {
+                assertThat(trie.getBetweenAsc(low, high).map { it.key })
+                        .containsExactlyElementsOf(expected.subMap(low, true, high, true).keys)
+            }
+        }
+    }
+
+    @Test
+    fun intKeysFollowTheirStringForm() {
+        // Given
+        val trie = RadixTrie<Int, Int>()
+        val expected = TreeMap<String, Int>()
+
+        (0 until 300).shuffled(Random(1)).forEach {
+            trie[it] = it
+            expected[it.toString()] = it
+        }
+
+        // Then
+        assertThat(trie.keys.map { it.toString() }).containsExactlyElementsOf(expected.keys)
+        assertThat(trie.firstKey()).isEqualTo(0)
+        assertThat(trie.lastKey()).isEqualTo(99)
+        assertThat(trie.ceilingKey(1000)).isEqualTo(101)
+        assertThat(trie.tailMap(298).values.take(4)).containsExactly(298, 299, 3, 30)
+    }
+
+    @Test
+    fun intCodecSortsNumerically() {
+        // Given
+        val random = Random(5)
+        val trie = RadixTrie<Int, Int>(KeyCodec.ofInt())
+        val expected = TreeMap<Int, Int>()
+
+        repeat(3_000) {
+            val key = random.nextInt(-2_000, 2_000)
+
+            // When
+            if (random.nextInt(4) == 0) {
+                assertThat(trie.remove(key)).isEqualTo(expected.remove(key))
+            } else {
+                assertThat(trie.put(key, it)).isEqualTo(expected.put(key, it))
+            }
+        }
+
+        // Then
+        assertThat(trie.keys).containsExactlyElementsOf(expected.keys)
+        assertThat(trie.desc.map { it.key }).containsExactlyElementsOf(expected.descendingKeySet())
+        assertThat(trie.comparator()!!.compare(-1, 1)).isNegative()
+        assertThat(trie.numberOfNodes).isLessThanOrEqualTo(2 * expected.size)
+
+        repeat(100) {
+            val low = random.nextInt(-2_200, 2_200)
+            val high = low + random.nextInt(1_000)
+            assertThat(trie.getBiggerThanAsc(low).map { it.key }).containsExactlyElementsOf(expected.tailMap(low, false).keys)
+            assertThat(trie.getBetweenDesc(low, high).map { it.key })
+                    .containsExactlyElementsOf(expected.subMap(low, true, high, true).descendingMap().keys)
+            val floor: Int? = trie.floorKey(high)
+            val expectedFloor: Int? = expected.floorKey(high)
+            assertThat(floor).isEqualTo(expectedFloor)
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package dsenta.queryablemap.statistics;
+
+import java.util.Random;
+
+import dsenta.queryablemap.QueryableMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ChurnStatistics {
+
+    public static double operationsPerSecond(QueryableMap<Integer, Integer> queryableMap,
+                                             int numberOfKeys,
+                                             int numberOfOperations) {
+        var random = new Random(numberOfKeys);
+
+        for (int i = 0; i < numberOfKeys; i += 2) {
+            queryableMap.put(i, i);
+        }
+
+        double seconds = StopWatchExecutor.measureTime(() -> {
+            for (int i = 0; i < numberOfOperations; i++) {
+                int key = random.nextInt(numberOfKeys);
+
+                // Half of puts overwrite and half of removes miss on average
+                if (random.nextBoolean()) {
+                    queryableMap.put(key, i);
+                } else {
+                    queryableMap.remove(key);
+                }
+            }
+        });
+
+        return numberOfOperations / seconds;
+    }
+}
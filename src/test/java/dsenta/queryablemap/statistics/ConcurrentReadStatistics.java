@@ -0,0 +1,52 @@
+package dsenta.queryablemap.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import dsenta.queryablemap.QueryableMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConcurrentReadStatistics {
+
+    public static double readsPerSecond(QueryableMap<Integer, Integer> queryableMap,
+                                        int numberOfKeys,
+                                        int numberOfThreads,
+                                        int readsPerThread) {
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        try {
+            double seconds = StopWatchExecutor.measureTime(() -> {
+                List<Future<?>> futures = new ArrayList<>();
+
+                for (int i = 0; i < numberOfThreads; i++) {
+                    futures.add(executorService.submit(() -> {
+                        var random = ThreadLocalRandom.current();
+
+                        for (int j = 0; j < readsPerThread; j++) {
+                            queryableMap.get(random.nextInt(numberOfKeys));
+                        }
+                    }));
+                }
+
+                for (var future : futures) {
+                    try {
+                        future.get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+
+            return (double) numberOfThreads * readsPerThread / seconds;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
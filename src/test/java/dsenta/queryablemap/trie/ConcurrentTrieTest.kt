@@ -0,0 +1,123 @@
+package dsenta.queryablemap.trie
+
+import dsenta.queryablemap.codec.KeyCodec
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+import java.util.Random
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class ConcurrentTrieTest {
+
+    @Test
+    fun concurrentInsert() {
+        // Given
+        val trie = ConcurrentTrie<String, Int>()
+
+        // When
+        val threads = (0 until 4).map { t ->
+            Thread {
+                (0 until 1_000).forEach { i ->
+                    trie["key$i"] = i
+                    trie["t$t-$i"] = i
+                    assertEquals(i, trie["t$t-$i"])
+                }
+            }
+        }
+
+        threads.forEach { it.start() }
+        threads.forEach { it.join() }
+
+        // Then
+        assertEquals(5_000, trie.size)
+        assertEquals(trie.asc.map { it.key }.sorted(), trie.asc.map { it.key })
+        (0 until 1_000).forEach { assertEquals(it, trie["key$it"]) }
+    }
+
+    @Test
+    fun concurrentInsertAndDelete() {
+        // Given
+        val trie = ConcurrentTrie<String, Int>()
+        (0 until 2_000).forEach { trie["a$it"] = it }
+
+        // When
+        val writer = Thread { (2_000 until 4_000).forEach { trie["a$it"] = it } }
+        val remover = Thread { (0 until 2_000 step 2).forEach { trie.remove("a$it") } }
+        val reader = Thread {
+            (1 until 2_000 step 2).forEach { assertEquals(it, trie["a$it"]) }
+        }
+
+        listOf(writer, remover, reader).forEach { it.start() }
+        listOf(writer, remover, reader).forEach { it.join() }
+
+        // Then
+        assertEquals(3_000, trie.size)
+        (0 until 2_000 step 2).forEach { assertNull(trie["a$it"]) }
+        (1 until 4_000).filter { it >= 2_000 || it % 2 == 1 }.forEach { assertEquals(it, trie["a$it"]) }
+    }
+
+    @Test
+    fun readersNeverSeeHalfWrittenEntries() {
+        // Given
+        val trie = ConcurrentTrie<Int, Int>(KeyCodec.ofInt())
+        (0 until 4_000 step 2).forEach { trie[it] = it }
+        val writersLeft = AtomicInteger(3)
+        val failures = ConcurrentLinkedQueue<String>()
+
+        // When
+        val writers = (0 until 3).map { w ->
+            Thread {
+                val random = Random(w.toLong())
+                repeat(30_000) {
+                    val key = random.nextInt(2_000) * 2 + 1
+                    if (random.nextBoolean()) trie[key] = key else trie.remove(key)
+                }
+                writersLeft.decrementAndGet()
+            }
+        }
+        val readers = (0 until 3).map { r ->
+            Thread {
+                do {
+                    try {
+                        val entries = trie.iterateBetween(500, 3_500, r != 1).asSequence().toList()
+                        val keys = entries.map { it.key }.let { if (r == 1) it.reversed() else it }
+                        when {
+                            entries.any { it.key == null || it.key != it.value } -> failures += "entry $entries"
+                            keys.zipWithNext().any { (a, b) -> a >= b } -> failures += "order $keys"
+                            keys.filter { it % 2 == 0 } != (500..3_500 step 2).toList() -> failures += "missing $keys"
+                        }
+                    } catch (e: RuntimeException) {
+                        failures += e.toString()
+                    }
+                } while (writersLeft.get() > 0)
+            }
+        }
+
+        (writers + readers).forEach { it.start() }
+        (writers + readers).forEach { it.join() }
+
+        // Then
+        assertEquals(listOf<String>(), failures.take(3))
+        assertEquals(trie.asc.size, trie.size)
+    }
+
+    @Test
+    fun clearDropsTheNullKey() {
+        // Given
+        val trie = ConcurrentTrie<String, Int>()
+        trie[null] = 0
+        trie["a"] = 1
+
+        // When
+        trie.clear()
+
+        // Then
+        assertEquals(0, trie.size)
+        assertNull(trie[null])
+        assertEquals(listOf<Any>(), trie.asc)
+
+        trie[null] = 2
+        assertEquals(listOf(null to 2), trie.asc.map { it.key to it.value })
+    }
+}
@@ -1,7 +1,9 @@
 package dsenta.queryablemap.trie
 
+import dsenta.queryablemap.codec.KeyCodec
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
+import java.util.TreeMap
 
 internal class TrieTest {
 
@@ -450,4 +452,229 @@ internal class TrieTest {
         assertThat(trie.getNotEqualsDesc("Ante").map { it.key })
                 .containsExactly("Tomislav", "Petra", "Petar", "Miljenko", "Miljenka", "Mijo", "Mate", "Iva")
     }
-}
\ No newline at end of file
+
+    @Test
+    fun iterate() {
+        // Given
+        val trie = Trie<String, String>()
+        val inputData = listOf("Iva", "Mijo", "Miljenko", "Miljenka", "Mate", "Matea", "Petar", "Petra", "Ante", "Tomislav")
+
+        inputData.forEach { trie[it] = it }
+
+        // Then ASC
+        assertThat(trie.iterate(true).asSequence().map { it.key }.toList())
+                .containsExactly("Ante", "Iva", "Mate", "Matea", "Mijo", "Miljenka", "Miljenko", "Petar", "Petra", "Tomislav")
+
+        // Then DESC
+        assertThat(trie.iterate(false).asSequence().map { it.key }.toList())
+                .containsExactly("Tomislav", "Petra", "Petar", "Miljenko", "Miljenka", "Mijo", "Matea", "Mate", "Iva", "Ante")
+
+        // Then ASC
+        assertThat(trie.iterateBetween("Mate", "Miljenka", true).asSequence().map { it.key }.toList())
+                .containsExactly("Mate", "Matea", "Mijo", "Miljenka")
+
+        // Then DESC
+        assertThat(trie.iterateBetween("Mate", "Miljenka", false).asSequence().map { it.key }.toList())
+                .containsExactly("Miljenka", "Mijo", "Matea", "Mate")
+
+        // Then ASC
+        assertThat(trie.iterateBiggerThan("Mate", true).asSequence().map { it.key }.toList())
+                .containsExactly("Matea", "Mijo", "Miljenka", "Miljenko", "Petar", "Petra", "Tomislav")
+
+        // Then DESC
+        assertThat(trie.iterateBiggerThanEquals("Mil", false).asSequence().map { it.key }.toList())
+                .containsExactly("Tomislav", "Petra", "Petar", "Miljenko", "Miljenka")
+
+        // Then ASC
+        assertThat(trie.iterateLessThan("Matea", true).asSequence().map { it.key }.toList())
+                .containsExactly("Ante", "Iva", "Mate")
+
+        // Then DESC
+        assertThat(trie.iterateLessThanEquals("Matea", false).asSequence().map { it.key }.toList())
+                .containsExactly("Matea", "Mate", "Iva", "Ante")
+    }
+
+    @Test
+    fun page() {
+        // Given
+        val trie = Trie<String, String>()
+        val inputData = listOf("Iva", "Mijo", "Miljenko", "Miljenka", "Mate", "Matea", "Petar", "Petra", "Ante", "Tomislav")
+
+        inputData.forEach { trie[it] = it }
+
+        // Then
+        assertThat(trie.getAsc(2).map { it.key }).containsExactly("Ante", "Iva")
+        assertThat(trie.getBiggerThanAsc("Mate", 2, 3).map { it.key }).containsExactly("Miljenka", "Miljenko", "Petar")
+        assertThat(trie.getBetweenDesc("Mate", "Petra", 1, 2).map { it.key }).containsExactly("Petar", "Miljenko")
+        assertThat(trie.getLessThanEqualsAsc("Mate", 5, 10)).isEmpty()
+        assertThat(trie.first(3).map { it.key }).containsExactly("Ante", "Iva", "Mate")
+        assertThat(trie.last(2).map { it.key }).containsExactly("Tomislav", "Petra")
+    }
+
+    @Test
+    fun pageIsASliceOfTheWholeList() {
+        // Given
+        val trie = Trie<String, String>()
+        listOf("Iva", "Mate", "Matea").forEach { trie[it] = it }
+        val numbers = Trie<Int, Int>()
+        listOf(-1, -101, 5, 40).forEach { numbers[it] = it }
+
+        // Then
+        assertThat(trie.desc.map { it.key }).containsExactly("Matea", "Mate", "Iva")
+        assertThat(trie.getDesc(10)).isEqualTo(trie.desc)
+        assertThat(trie.getLessThanEqualsDesc("Matea").map { it.key }).containsExactly("Matea", "Mate", "Iva")
+        assertThat(trie.getLessThanEqualsDesc("Matea", 1, 5)).isEqualTo(trie.getLessThanEqualsDesc("Matea").drop(1))
+        assertThat(trie.getNotEqualsDesc("Mate").map { it.key }).containsExactly("Matea", "Iva")
+        assertThat(numbers.min).isEqualTo(numbers.firstKey())
+        assertThat(numbers.max).isEqualTo(numbers.lastKey())
+    }
+
+    @Test
+    fun navigableMap() {
+        // Given
+        val trie = Trie<Int, Int>()
+        val expected = TreeMap<String, Int>()
+
+        (0 until 300).shuffled().forEach {
+            trie[it] = it
+            expected[it.toString()] = it
+        }
+
+        // Then keys are ordered by their string form
+        assertThat(trie.keys.map { it.toString() }).containsExactlyElementsOf(expected.keys)
+        assertThat(trie.firstKey()).isEqualTo(0)
+        assertThat(trie.lastKey()).isEqualTo(99)
+        assertThat(trie.floorKey(295)).isEqualTo(295)
+        assertThat(trie.lowerKey(3)).isEqualTo(299)
+        assertThat(trie.ceilingKey(1000)).isEqualTo(101)
+        val higherThanLast: Int? = trie.higherKey(99)
+        assertThat(higherThanLast).isNull()
+        assertThat(trie.subMap(20, 200).keys.map { it.toString() })
+                .containsExactlyElementsOf(expected.subMap("20", "200").keys)
+        assertThat(trie.headMap(11, true).descendingMap().keys.map { it.toString() })
+                .containsExactlyElementsOf(expected.headMap("11", true).descendingMap().keys)
+        assertThat(trie.tailMap(298).values.take(4)).containsExactly(298, 299, 3, 30)
+        assertThat(trie.tailMap(298)).hasSize(expected.tailMap("298").size)
+    }
+
+    @Test
+    fun viewIteratorRemoves() {
+        // Given
+        val trie = Trie<String, Int>()
+        val expected = TreeMap<String, Int>()
+
+        (0 until 1_000).forEach {
+            trie[it.toString()] = it
+            expected[it.toString()] = it
+        }
+
+        // When
+        trie.entries.removeIf { it.value % 3 == 0 }
+        expected.entries.removeIf { it.value % 3 == 0 }
+        trie.tailMap("5").keys.removeIf { it.length == 2 }
+        expected.tailMap("5").keys.removeIf { it.length == 2 }
+
+        // Then
+        assertThat(trie.keys).containsExactlyElementsOf(expected.keys)
+        assertThat(trie).hasSize(expected.size)
+    }
+
+    @Test
+    fun childrenStaySortedThroughRemovals() {
+        // Given
+        val trie = Trie<String, Int>()
+        val keys = ('a'..'z').flatMap { first -> ('a'..'z').map { "$first$it" } }.shuffled(kotlin.random.Random(3))
+        keys.forEachIndexed { index, key -> trie[key] = index }
+
+        // When
+        val removed = keys.filterIndexed { index, _ -> index % 3 == 0 }
+        removed.forEach { trie.remove(it) }
+
+        // Then
+        val expected = (keys - removed.toSet()).sorted()
+        assertThat(trie.asc.map { it.key }).containsExactlyElementsOf(expected)
+        assertThat(trie.desc.map { it.key }).containsExactlyElementsOf(expected.reversed())
+        assertThat(trie.min).isEqualTo(expected.first())
+        assertThat(trie.max).isEqualTo(expected.last())
+        assertThat(trie.getBetweenAsc("fc", "hz").map { it.key }).containsExactlyElementsOf(expected.filter { it in "fc".."hz" })
+    }
+
+    @Test
+    fun emptyKeyIsABound() {
+        // Given
+        val random = kotlin.random.Random(8)
+        val trie = Trie<String, Int>()
+        val expected = TreeMap<String, Int>()
+        val alphabet = "abc"
+        fun key() = (1..random.nextInt(0, 5)).map { alphabet[random.nextInt(alphabet.length)] }.joinToString("")
+
+        repeat(2_000) {
+            val key = key()
+
+            // When
+            if (random.nextInt(3) == 0) {
+                assertThat(trie.remove(key)).isEqualTo(expected.remove(key))
+            } else {
+                assertThat(trie.put(key, it)).isEqualTo(expected.put(key, it))
+            }
+        }
+
+        // Then
+        assertThat(trie.keys).containsExactlyElementsOf(expected.keys)
+        assertThat(trie.headMap("").keys).isEmpty()
+        assertThat(trie.getLessThanAsc("", 10)).isEmpty()
+
+        repeat(200) {
+            val low = key()
+            val high = key()
+            assertThat(trie.headMap(high).keys).containsExactlyElementsOf(expected.headMap(high).keys)
+            assertThat(trie.tailMap(low, false).keys).containsExactlyElementsOf(expected.tailMap(low, false).keys)
+            assertThat(trie.higherKey(low)).isEqualTo(expected.higherKey(low))
+            assertThat(trie.lowerKey(high)).isEqualTo(expected.lowerKey(high))
+            assertThat(trie.getLessThanDesc(high, 10).map { it.key })
+                    .containsExactlyElementsOf(expected.headMap(high, false).descendingMap().keys.take(10))
+
+            if (low <= high) {
+                assertThat(trie.subMap(low, false, high, true).keys)
+                        .containsExactlyElementsOf(expected.subMap(low, false, high, true).keys)
+            }
+        }
+    }
+
+    @Test
+    fun intCodecSortsNumerically() {
+        // Given
+        val random = kotlin.random.Random(5)
+        val trie = Trie<Int, Int>(KeyCodec.ofInt())
+        val expected = TreeMap<Int, Int>()
+
+        repeat(3_000) {
+            val key = random.nextInt(-2_000, 2_000)
+
+            // When
+            if (random.nextInt(4) == 0) {
+                assertThat(trie.remove(key)).isEqualTo(expected.remove(key))
+            } else {
+                assertThat(trie.put(key, it)).isEqualTo(expected.put(key, it))
+            }
+        }
+
+        // Then
+        assertThat(trie.keys).containsExactlyElementsOf(expected.keys)
+        assertThat(trie.desc.map { it.key }).containsExactlyElementsOf(expected.descendingKeySet())
+        assertThat(trie.firstKey()).isEqualTo(expected.firstKey())
+        assertThat(trie.lastKey()).isEqualTo(expected.lastKey())
+
+        repeat(100) {
+            val low = random.nextInt(-2_200, 2_200)
+            val high = low + random.nextInt(1_000)
+            assertThat(trie.getBiggerThanAsc(low).map { it.key }).containsExactlyElementsOf(expected.tailMap(low, false).keys)
+            assertThat(trie.getLessThanEqualsDesc(high).map { it.key })
+                    .containsExactlyElementsOf(expected.headMap(high, true).descendingMap().keys)
+            assertThat(trie.getBetweenAsc(low, high).map { it.key })
+                    .containsExactlyElementsOf(expected.subMap(low, true, high, true).keys)
+            assertThat(trie.getBetweenDesc(low, high).map { it.key })
+                    .containsExactlyElementsOf(expected.subMap(low, true, high, true).descendingMap().keys)
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dsenta.queryablemap.wgb
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import java.util.TreeMap
+
+internal class PrimitiveWhiteGreyBlackTreeTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = [1, 10, 1_000, 50_000])
+    fun test_long_put_get_remove(numberOfKeys: Int) {
+        val tree = LongWhiteGreyBlackTree<Long>()
+        val expected = TreeMap<Long, Long>()
+        val keys = (0 until numberOfKeys).map { it * 3L - numberOfKeys }.shuffled()
+
+        keys.forEach {
+            assertNull(tree.put(it, it))
+            expected[it] = it
+        }
+        keys.take(numberOfKeys / 2).forEach {
+            assertEquals(it, tree.remove(it))
+            expected.remove(it)
+        }
+
+        assertEquals(expected.size, tree.size())
+        keys.forEach {
+            if (expected.containsKey(it)) {
+                assertEquals(expected[it], tree[it])
+            } else {
+                assertFalse(tree.containsKey(it))
+            }
+        }
+        assertEquals(expected.keys.toList(), tree.cursor(true).keys())
+        assertEquals(expected.descendingKeySet().toList(), tree.cursor(false).keys())
+    }
+
+    @Test
+    fun test_long_ranges() {
+        val tree = LongWhiteGreyBlackTree<String>()
+        (0L until 1_000L).shuffled().forEach { tree.put(it, it.toString()) }
+
+        assertEquals((100L..200L).toList(), tree.cursorBetween(100, 200, true).keys())
+        assertEquals((101L until 1_000L).toList(), tree.cursorBiggerThan(100, true).keys())
+        assertEquals((100L until 1_000L).toList().reversed(), tree.cursorBiggerThanEquals(100, false).keys())
+        assertEquals((0L until 100L).toList(), tree.cursorLessThan(100, true).keys())
+        assertEquals((0L..100L).toList().reversed(), tree.cursorLessThanEquals(100, false).keys())
+        assertEquals(listOf<Long>(), tree.cursorBiggerThan(Long.MAX_VALUE, true).keys())
+        assertEquals(0L, tree.min)
+        assertEquals(999L, tree.max)
+
+        val cursor = tree.cursorBetween(10, 10, true)
+        assertTrue(cursor.next())
+        assertEquals("10", cursor.value())
+        assertFalse(cursor.next())
+    }
+
+    @Test
+    fun test_int() {
+        val tree = IntWhiteGreyBlackTree<Int>()
+        (-500 until 500).shuffled().forEach { tree.put(it, it * 2) }
+
+        assertEquals(1_000, tree.size())
+        assertEquals(-500, tree.min)
+        assertEquals(20, tree[10])
+        assertEquals(-20, tree.remove(-10))
+        assertFalse(tree.containsKey(-10))
+
+        val cursor = tree.cursorBetween(-12, -8, true)
+        val keys = mutableListOf<Int>()
+        while (cursor.next()) {
+            keys += cursor.key()
+        }
+        assertEquals(listOf(-12, -11, -9, -8), keys)
+    }
+
+    private fun LongCursor<*>.keys(): List<Long> {
+        val keys = mutableListOf<Long>()
+        while (next()) {
+            keys += key()
+        }
+        return keys
+    }
+}
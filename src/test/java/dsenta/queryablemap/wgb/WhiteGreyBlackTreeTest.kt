@@ -1,13 +1,28 @@
 package dsenta.queryablemap.wgb
 
+import dsenta.queryablemap.statistics.ChurnStatistics
+import dsenta.queryablemap.statistics.ConcurrentReadStatistics
+import dsenta.queryablemap.statistics.StopWatchExecutor
 import dsenta.queryablemap.testutil.RandomGenerator
+import dsenta.queryablemap.wgb.node.util.PrimeConstants
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Disabled
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.EnumSource
 import org.junit.jupiter.params.provider.ValueSource
+import java.lang.management.ManagementFactory
+import java.math.BigDecimal
+import java.util.NavigableMap
+import java.util.Random
+import java.util.Spliterator
+import java.util.TreeMap
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.stream.Collectors
+import java.util.stream.StreamSupport
 import kotlin.math.pow
 
 internal class WhiteGreyBlackTreeTest {
@@ -27,6 +42,21 @@ internal class WhiteGreyBlackTreeTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    @Disabled
+    fun testReadThroughput(concurrencyMode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val numberOfKeys = 1_000_000
+        val tree = WhiteGreyBlackTree<Int, Int>(concurrencyMode)
+        (0 until numberOfKeys).shuffled().forEach { tree[it] = it }
+
+        println("  $concurrencyMode: threads, reads per second")
+        listOf(1, 2, 4, 8, 16, 32).forEach { threads ->
+            val readsPerSecond = ConcurrentReadStatistics.readsPerSecond(tree, numberOfKeys, threads, 1_000_000)
+            println("  $threads, ${readsPerSecond.toLong()}")
+        }
+    }
+
     @Test
     fun test_get_int() {
         val tree = WhiteGreyBlackTree<Int, Int>()
@@ -212,6 +242,653 @@ internal class WhiteGreyBlackTreeTest {
         )
     }
 
+    @Test
+    fun test_iterate_int() {
+        val tree = WhiteGreyBlackTree<Int, Int>()
+        (0 until 1_000).shuffled().forEach { tree[it] = it }
+
+        assertEquals((0 until 1_000).toList(), tree.iterate(true).asSequence().map { it.key }.toList())
+        assertEquals((999 downTo 0).toList(), tree.iterate(false).asSequence().map { it.key }.toList())
+        assertEquals((200..700).toList(), tree.iterateBetween(200, 700, true).asSequence().map { it.key }.toList())
+        assertEquals((700 downTo 200).toList(), tree.iterateBetween(200, 700, false).asSequence().map { it.key }.toList())
+        assertEquals((501 until 1_000).toList(), tree.iterateBiggerThan(500, true).asSequence().map { it.key }.toList())
+        assertEquals((999 downTo 501).toList(), tree.iterateBiggerThan(500, false).asSequence().map { it.key }.toList())
+        assertEquals((500 until 1_000).toList(), tree.iterateBiggerThanEquals(500, true).asSequence().map { it.key }.toList())
+        assertEquals((999 downTo 500).toList(), tree.iterateBiggerThanEquals(500, false).asSequence().map { it.key }.toList())
+        assertEquals((0 until 500).toList(), tree.iterateLessThan(500, true).asSequence().map { it.key }.toList())
+        assertEquals((499 downTo 0).toList(), tree.iterateLessThan(500, false).asSequence().map { it.key }.toList())
+        assertEquals((0..500).toList(), tree.iterateLessThanEquals(500, true).asSequence().map { it.key }.toList())
+        assertEquals((500 downTo 0).toList(), tree.iterateLessThanEquals(500, false).asSequence().map { it.key }.toList())
+        assertEquals(
+                listOf(200, 201, 202),
+                tree.iterateBetween(200, 700, true).asSequence().take(3).map { it.key }.toList()
+        )
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = [10_000, 100_000, 1_000_000])
+    @Disabled
+    fun testChurnThroughput(numberOfKeys: Int) {
+        val opsPerSecond = ChurnStatistics.operationsPerSecond(WhiteGreyBlackTree(), numberOfKeys, 2_000_000)
+        println("  $numberOfKeys keys, ${opsPerSecond.toLong()} operations per second")
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = [100_000, 1_000_000, 5_000_000])
+    @Disabled
+    fun testBulkLoad(numberOfKeys: Int) {
+        val entries = (0 until numberOfKeys).map { java.util.Map.entry(it, it) }
+
+        val putSeconds = StopWatchExecutor.measureTime {
+            val tree = WhiteGreyBlackTree<Int, Int>()
+            entries.forEach { tree[it.key] = it.value }
+        }
+        val bulkLoadSeconds = StopWatchExecutor.measureTime {
+            WhiteGreyBlackTree<Int, Int>().bulkLoad(entries.iterator())
+        }
+
+        println("  $numberOfKeys keys, put ${putSeconds}s, bulkLoad ${bulkLoadSeconds}s")
+    }
+
+    @Test
+    fun test_read_write_mode() {
+        val tree = WhiteGreyBlackTree<Int, Int>(WhiteGreyBlackTree.ConcurrencyMode.READ_WRITE)
+        val threads = (0 until 4).map { t ->
+            Thread {
+                (0 until 1_000).forEach { i ->
+                    tree[t * 1_000 + i] = i
+                    assertEquals(i, tree[t * 1_000 + i])
+                }
+            }
+        }
+
+        threads.forEach { it.start() }
+        threads.forEach { it.join() }
+
+        assertEquals(4_000, tree.size)
+        assertEquals((0 until 4_000).toList(), tree.asc.map { it.key })
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_write_while_reading(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 10).forEach { tree[it] = it }
+
+        if (mode == WhiteGreyBlackTree.ConcurrencyMode.READ_WRITE) {
+            // The read lock can not be upgraded
+            assertThrows<IllegalStateException> { tree.read { tree.put(10, 10) } }
+            assertThrows<IllegalStateException> { tree.forEach { key, _ -> tree.remove(key) } }
+            assertEquals((0 until 10).toList(), tree.asc.map { it.key })
+        } else {
+            tree.read { tree.put(10, 10) }
+            assertEquals((0..10).toList(), tree.asc.map { it.key })
+        }
+
+        // The lock is released after the failed write
+        tree.remove(0)
+        assertEquals(1, tree.firstKey())
+    }
+
+    @Test
+    fun test_copy_on_write_snapshot() {
+        val tree = WhiteGreyBlackTree<Int, Int>(WhiteGreyBlackTree.ConcurrencyMode.COPY_ON_WRITE)
+        (0 until 1_000).shuffled().forEach { tree[it] = it }
+
+        val snapshot = tree.iterate(true)
+        (0 until 1_000 step 2).shuffled().forEach { tree.remove(it) }
+        (1_000 until 1_500).shuffled().forEach { tree[it] = it }
+
+        assertEquals((0 until 1_000).toList(), snapshot.asSequence().map { it.key }.toList())
+        assertEquals(
+                (1 until 1_000 step 2).toList() + (1_000 until 1_500).toList(),
+                tree.asc.map { it.key }
+        )
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_iterate_while_writing(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 2_000).shuffled().forEach { tree[it * 2] = it }
+        val stable = (0 until 2_000).map { it * 2 }
+        val writing = AtomicBoolean(true)
+        val failures = AtomicInteger()
+
+        val writer = Thread {
+            val random = Random(7)
+            repeat(20_000) {
+                val key = random.nextInt(2_000) * 2 + 1
+                if (random.nextBoolean()) tree[key] = key else tree.remove(key)
+            }
+            writing.set(false)
+        }
+        val readers = (0 until 3).map { r ->
+            Thread {
+                do {
+                    val iterator = when (r) {
+                        0 -> tree.iterate(true)
+                        1 -> tree.iterateBetween(0, 4_000, true)
+                        else -> tree.iterateBetween(0, 4_000, false)
+                    }
+                    val keys = mutableListOf<Int>()
+                    val modified = try {
+                        iterator.forEachRemaining { keys += it.key }
+                        false
+                    } catch (e: ConcurrentModificationException) {
+                        true
+                    }
+                    val walk = if (r == 2) stable.reversed() else stable
+                    val evens = keys.filter { it % 2 == 0 }
+                    val inOrder = keys.zipWithNext().all { (a, b) -> if (r == 2) a > b else a < b }
+                    // Locking modes walk the live tree and fail fast, the keys seen until then are still a prefix of the walk
+                    val complete = if (modified) evens == walk.take(evens.size) else evens == walk
+                    if (!inOrder || !complete || (modified && mode == WhiteGreyBlackTree.ConcurrencyMode.COPY_ON_WRITE)) {
+                        failures.incrementAndGet()
+                    }
+                } while (writing.get())
+            }
+        }
+
+        writer.start()
+        readers.forEach { it.start() }
+        writer.join()
+        readers.forEach { it.join() }
+
+        assertEquals(0, failures.get())
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_iterator_fails_fast(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 1_000).shuffled().forEach { tree[it] = it }
+
+        val updated = tree.iterate(true)
+        val inserted = tree.iterateBetween(100, 900, false)
+        val split = tree.spliteratorBetween(0, 999)
+        assertEquals(0, updated.next().key)
+        assertEquals(900, inserted.next().key)
+        assertEquals(1_000L, split.estimateSize())
+
+        // Values are changed in place, only added and removed keys count as changes, snapshots keep the old value
+        tree[1] = -1
+        assertEquals(if (mode == WhiteGreyBlackTree.ConcurrencyMode.COPY_ON_WRITE) 1 else -1, updated.next().value)
+        tree[1_000] = 1_000
+        tree.remove(500)
+
+        if (mode == WhiteGreyBlackTree.ConcurrencyMode.COPY_ON_WRITE) {
+            assertEquals((2 until 1_000).toList(), updated.asSequence().map { it.key }.toList())
+            assertEquals((100 until 900).reversed().toList(), inserted.asSequence().map { it.key }.toList())
+            assertEquals(1_000L, StreamSupport.stream(split, false).count())
+        } else {
+            assertThrows<ConcurrentModificationException> { updated.next() }
+            assertThrows<ConcurrentModificationException> { inserted.hasNext() }
+            assertThrows<ConcurrentModificationException> { split.tryAdvance { } }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_upsert(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 1_000).shuffled().forEach { tree[it] = it }
+
+        val snapshot = tree.iterate(true)
+        (0 until 1_000).shuffled().forEach { assertEquals(it, tree.put(it, -it)) }
+
+        assertEquals(1_000, tree.size)
+        assertEquals((0 until 1_000).map { -it }, tree.asc.map { it.value })
+        if (mode == WhiteGreyBlackTree.ConcurrencyMode.COPY_ON_WRITE) {
+            assertEquals((0 until 1_000).toList(), snapshot.asSequence().map { it.value }.toList())
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = [0, 1, 2, 3, 10, 1_000, 100_000])
+    fun test_bulk_load(numberOfKeys: Int) {
+        val tree = WhiteGreyBlackTree<Int, Int>()
+        tree.bulkLoad((0 until numberOfKeys).map { java.util.Map.entry(it * 2, it) }.iterator())
+
+        assertEquals(numberOfKeys, tree.size)
+        assertEquals((0 until numberOfKeys).map { it * 2 }, tree.asc.map { it.key })
+        (0 until numberOfKeys).forEach { assertEquals(it, tree[it * 2]) }
+
+        val expected = TreeMap((0 until numberOfKeys).associateBy { it * 2 })
+        (0 until numberOfKeys).shuffled().take(numberOfKeys / 2).forEach {
+            tree.remove(it * 2)
+            expected.remove(it * 2)
+            tree[it * 2 + 1] = it
+            expected[it * 2 + 1] = it
+        }
+
+        assertEquals(expected.size, tree.size)
+        assertEquals(expected.keys.toList(), tree.asc.map { it.key })
+        expected.forEach { (key, value) -> assertEquals(value, tree[key]) }
+    }
+
+    @Test
+    fun test_bulk_load_unsorted() {
+        val tree = WhiteGreyBlackTree<Int, Int>()
+
+        assertThrows<IllegalArgumentException> {
+            tree.bulkLoad(listOf(1, 3, 2).map { java.util.Map.entry(it, it) }.iterator())
+        }
+        assertEquals(0, tree.size)
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_rank_select_count(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 3_000).shuffled().forEach { tree[it * 2] = it }
+        (0 until 3_000 step 3).shuffled().forEach { tree.remove(it * 2) }
+        val keys = tree.asc.map { it.key }
+
+        (-2..6_002).forEach { key ->
+            assertEquals(keys.count { it < key }, tree.rank(key))
+        }
+        keys.indices.forEach { assertEquals(keys[it], tree.select(it).key) }
+        assertEquals(keys.count { it in 100..2_000 }, tree.countBetween(100, 2_000))
+        assertEquals(keys.size, tree.countBetween(Int.MIN_VALUE, Int.MAX_VALUE))
+        assertEquals(0, tree.countBetween(2_000, 100))
+        assertThrows<IndexOutOfBoundsException> { tree.select(keys.size) }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_rank_select_while_writing(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 2_000).shuffled().forEach { tree[it * 2] = it }
+        val writing = AtomicBoolean(true)
+        val failures = AtomicInteger()
+
+        val writer = Thread {
+            val random = Random(13)
+            repeat(20_000) {
+                val key = random.nextInt(2_000) * 2 + 1
+                if (random.nextBoolean()) tree[key] = key else tree.remove(key)
+            }
+            writing.set(false)
+        }
+        val reader = Thread {
+            val random = Random(19)
+            do {
+                try {
+                    // Even keys never change, odd ones come and go, so the i-th key is between i and 2i
+                    val index = random.nextInt(2_000)
+                    val between = tree.countBetween(1_000, 2_998)
+                    if (between !in 1_000..1_999 || tree.select(index).key !in index..index * 2) {
+                        failures.incrementAndGet()
+                    }
+                } catch (e: RuntimeException) {
+                    failures.incrementAndGet()
+                }
+            } while (writing.get())
+        }
+
+        writer.start()
+        reader.start()
+        writer.join()
+        reader.join()
+
+        assertEquals(0, failures.get())
+    }
+
+    @Test
+    fun test_page_int() {
+        val tree = WhiteGreyBlackTree<Int, Int>()
+        (0 until 1_000).shuffled().forEach { tree[it] = it }
+
+        assertEquals((0 until 50).toList(), tree.getAsc(50).map { it.key })
+        assertEquals((999 downTo 950).toList(), tree.getDesc(50).map { it.key })
+        assertEquals((151 until 201).toList(), tree.getBiggerThanAsc(100, 50, 50).map { it.key })
+        assertEquals((49 downTo 40).toList(), tree.getLessThanDesc(100, 50, 10).map { it.key })
+        assertEquals((300..310).toList(), tree.getBetweenAsc(200, 400, 100, 11).map { it.key })
+        assertEquals((395..400).toList().reversed(), tree.getBetweenDesc(200, 400, 0, 6).map { it.key })
+        assertEquals(listOf<Int>(), tree.getBiggerThanEqualsAsc(990, 20, 50).map { it.key })
+        assertThrows<IllegalArgumentException> { tree.getAsc(-1, 10) }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_first_last(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        val expected = TreeMap<Int, Int>()
+
+        assertEquals(listOf<Int>(), tree.first(10))
+
+        (0 until 20_000).shuffled().take(5_000).forEach {
+            tree[it] = it
+            expected[it] = it
+        }
+        expected.keys.filter { it % 3 == 0 }.forEach {
+            tree.remove(it)
+            expected.remove(it)
+        }
+
+        listOf(0, 1, 2, 10, 100, expected.size, expected.size + 10).forEach { n ->
+            assertEquals(expected.keys.take(n), tree.first(n).map { it.key })
+            assertEquals(expected.descendingKeySet().take(n), tree.last(n).map { it.key })
+        }
+        assertThrows<IllegalArgumentException> { tree.last(-1) }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_navigable_map(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        val expected = TreeMap<Int, Int>()
+        (0 until 500).map { it * 2 }.shuffled().forEach {
+            tree[it] = it
+            expected[it] = it
+        }
+
+        (-3..1_003).forEach {
+            assertEquals(
+                    listOf(expected.lowerKey(it), expected.floorKey(it), expected.ceilingKey(it), expected.higherKey(it)),
+                    listOf(tree.lowerKey(it), tree.floorKey(it), tree.ceilingKey(it), tree.higherKey(it))
+            )
+        }
+        assertEquals(expected.keys.toList(), tree.keys.toList())
+        assertEquals(expected.values.toList(), tree.values.toList())
+        assertEquals(expected.descendingKeySet().toList(), tree.descendingKeySet().toList())
+
+        val views = listOf<Pair<NavigableMap<Int, Int>, NavigableMap<Int, Int>>>(
+                expected.subMap(100, true, 200, false) to tree.subMap(100, 200),
+                expected.subMap(101, false, 301, true) to tree.subMap(101, false, 301, true),
+                expected.headMap(50, true) to tree.headMap(50, true),
+                expected.tailMap(950, false) to tree.tailMap(950, false),
+                expected.descendingMap().subMap(300, true, 200, false) to tree.descendingMap().subMap(300, true, 200, false),
+                expected.subMap(100, true, 400, false).descendingMap().headMap(250, false) to tree.subMap(100, 400).descendingMap().headMap(250, false)
+        )
+        views.forEach { (expectedView, view) ->
+            assertEquals(expectedView.keys.toList(), view.keys.toList())
+            assertEquals(expectedView.size, view.size)
+            assertEquals(expectedView.firstKey(), view.firstKey())
+            assertEquals(expectedView.lastKey(), view.lastKey())
+            assertEquals(expectedView, view)
+            (-1..1_001 step 7).forEach {
+                assertEquals(
+                        listOf(expectedView.floorKey(it), expectedView.higherKey(it), expectedView.containsKey(it)),
+                        listOf(view.floorKey(it), view.higherKey(it), view.containsKey(it))
+                )
+            }
+        }
+
+        // Views are live
+        val view = tree.subMap(100, true, 120, false)
+        tree[111] = 111
+        assertEquals(listOf(100, 102, 104, 106, 108, 110, 111, 112, 114, 116, 118), view.keys.toList())
+        assertThrows<IllegalArgumentException> { view[120] = 120 }
+        assertThrows<IllegalArgumentException> { view.subMap(90, 110) }
+        assertThrows<IllegalArgumentException> { tree.subMap(200, 100) }
+
+        view.clear()
+        assertEquals(listOf(98, 120), listOf(tree.lowerKey(100), tree.ceilingKey(100)))
+        assertEquals(0, tree.pollFirstEntry().key)
+        assertEquals(998, tree.pollLastEntry().key)
+        assertEquals(2, tree.firstKey())
+        assertEquals(expected.size - 12, tree.size)
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_views_while_writing(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 2_000).shuffled().forEach { tree[it * 2] = it }
+        val stable = (0 until 2_000).map { it * 2 }
+        val writing = AtomicBoolean(true)
+        val failures = AtomicInteger()
+
+        val writer = Thread {
+            val random = Random(11)
+            repeat(20_000) {
+                val key = random.nextInt(2_000) * 2 + 1
+                if (random.nextBoolean()) tree[key] = key else tree.remove(key)
+            }
+            writing.set(false)
+        }
+        val readers = (0 until 3).map { r ->
+            Thread {
+                do {
+                    val keys = when (r) {
+                        0 -> tree.entries.map { it.key }
+                        1 -> tree.subMap(0, true, 4_000, false).keys.toList()
+                        else -> tree.descendingKeySet().toList().reversed()
+                    }
+                    if (keys.zipWithNext().any { (a, b) -> a >= b } || keys.filter { it % 2 == 0 } != stable) {
+                        failures.incrementAndGet()
+                    }
+                } while (writing.get())
+            }
+        }
+
+        writer.start()
+        readers.forEach { it.start() }
+        writer.join()
+        readers.forEach { it.join() }
+
+        assertEquals(0, failures.get())
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_view_iterator_remove(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        val expected = TreeMap<Int, Int>()
+        (0 until 2_000).shuffled().forEach {
+            tree[it] = it
+            expected[it] = it
+        }
+
+        tree.entries.removeIf { it.key % 3 == 0 }
+        expected.entries.removeIf { it.key % 3 == 0 }
+        tree.subMap(100, 1_500).keys.removeIf { it % 2 == 0 }
+        expected.subMap(100, 1_500).keys.removeIf { it % 2 == 0 }
+        tree.descendingMap().values.removeIf { it in 1_700..1_800 }
+        expected.descendingMap().values.removeIf { it in 1_700..1_800 }
+
+        assertEquals(expected, tree)
+        assertEquals(expected.size, tree.size)
+
+        val iterator = tree.keys.iterator()
+        assertThrows<IllegalStateException> { iterator.remove() }
+        iterator.next()
+        iterator.remove()
+        assertThrows<IllegalStateException> { iterator.remove() }
+        assertEquals(expected.keys.drop(1), tree.keys.toList())
+    }
+
+    @Test
+    fun test_floor_ceiling() {
+        val tree = WhiteGreyBlackTree<Int, Int>()
+        val expected = TreeMap<Int, Int>()
+        (0 until 20_000).shuffled().take(5_000).forEach {
+            tree[it] = it
+            expected[it] = it
+        }
+        expected.keys.filter { it % 5 == 0 }.forEach {
+            tree.remove(it)
+            expected.remove(it)
+        }
+
+        (-1..20_000).forEach {
+            assertEquals(expected.lowerEntry(it), tree.lowerEntry(it))
+            assertEquals(expected.floorEntry(it), tree.floorEntry(it))
+            assertEquals(expected.ceilingEntry(it), tree.ceilingEntry(it))
+            assertEquals(expected.higherEntry(it), tree.higherEntry(it))
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_stream_between(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 50_000).shuffled().forEach { tree[it] = it }
+        val expected = (1_000..40_000).toList()
+
+        assertEquals(expected, tree.streamBetween(1_000, 40_000).map { it.key }.collect(Collectors.toList()))
+        assertEquals(expected, tree.streamBetween(1_000, 40_000).parallel().map { it.key }.collect(Collectors.toList()))
+        assertEquals(expected.sumOf { it.toLong() }, tree.streamBetween(1_000, 40_000).parallel().mapToLong { it.value.toLong() }.sum())
+
+        val suffix = tree.spliteratorBetween(1_000, 40_000)
+        val prefix = suffix.trySplit()!!
+        val prefixKeys = mutableListOf<Int>()
+        val suffixKeys = mutableListOf<Int>()
+        prefix.forEachRemaining { prefixKeys += it.key }
+        suffix.forEachRemaining { suffixKeys += it.key }
+
+        assertTrue(prefixKeys.isNotEmpty() && suffixKeys.isNotEmpty())
+        assertEquals(expected, prefixKeys + suffixKeys)
+
+        // Sizes are exact for the range, not the whole tree
+        val sized = tree.spliteratorBetween(1_000, 40_000)
+        assertTrue(sized.hasCharacteristics(Spliterator.SIZED))
+        assertEquals(expected.size.toLong(), sized.estimateSize())
+        val half = sized.trySplit()!!
+        assertEquals(expected.size.toLong(), half.estimateSize() + sized.estimateSize())
+        assertEquals(half.estimateSize(), StreamSupport.stream(half, false).count())
+        assertEquals(0L, tree.spliteratorBetween(40_000, 1_000).estimateSize())
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_stream_between_while_writing(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        (0 until 5_000).shuffled().forEach { tree[it * 2] = it }
+        val stable = (500 until 4_500).map { it * 2 }
+        val writing = AtomicBoolean(true)
+        val failures = AtomicInteger()
+
+        val writer = Thread {
+            val random = Random(17)
+            repeat(20_000) {
+                val key = random.nextInt(5_000) * 2 + 1
+                if (random.nextBoolean()) tree[key] = key else tree.remove(key)
+            }
+            writing.set(false)
+        }
+        val modified = AtomicInteger()
+        val reader = Thread {
+            do {
+                try {
+                    val keys = tree.streamBetween(1_000, 8_998).parallel().map { it.key }.collect(Collectors.toList())
+                    if (keys.zipWithNext().any { (a, b) -> a >= b } || keys.filter { it % 2 == 0 } != stable) {
+                        failures.incrementAndGet()
+                    }
+                } catch (e: ConcurrentModificationException) {
+                    modified.incrementAndGet()
+                }
+            } while (writing.get())
+        }
+
+        writer.start()
+        reader.start()
+        writer.join()
+        reader.join()
+
+        assertEquals(0, failures.get())
+        if (mode == WhiteGreyBlackTree.ConcurrencyMode.COPY_ON_WRITE) {
+            assertEquals(0, modified.get())
+        }
+    }
+
+    @Test
+    fun test_parallel_matches_sequential() {
+        val source = (0 until 100_000).shuffled().take(50_000).associateWith { it }
+
+        fun queries(parallelThreshold: Int): List<List<Int>> {
+            fun tree() = WhiteGreyBlackTree<Int, Int>(PrimeConstants.FIRST_PRIME, WhiteGreyBlackTree.ConcurrencyMode.SYNCHRONIZED, parallelThreshold)
+            val built = tree().apply { putAll(HashMap(source)) }
+            val inserted = tree().apply { source.forEach { (key, value) -> put(key, value) } }
+            return listOf(built, inserted).flatMap { tree ->
+                listOf(
+                        tree.asc,
+                        tree.getBiggerThanAsc(20_000),
+                        tree.getBiggerThanEqualsDesc(20_000),
+                        tree.getLessThanAsc(70_000),
+                        tree.getLessThanEqualsDesc(70_000),
+                        tree.getBetweenAsc(10_000, 90_000),
+                        tree.getBetweenDesc(10_000, 90_000)
+                ).map { entries -> entries.map { it.key } }
+            }
+        }
+
+        val sequential = queries(0)
+
+        // Parallel work is off unless a tree asks for it
+        assertEquals(0, WhiteGreyBlackTree<Int, Int>().parallelThreshold)
+        assertEquals(sequential, queries(64))
+        assertEquals(source.keys.sorted(), sequential.first())
+        assertThrows<IllegalArgumentException> {
+            WhiteGreyBlackTree<Int, Int>(PrimeConstants.FIRST_PRIME, WhiteGreyBlackTree.ConcurrencyMode.SYNCHRONIZED, -1)
+        }
+    }
+
+    @Test
+    fun test_put_all_unsorted() {
+        val source = HashMap<Int, Int>()
+        (0 until 100_000).shuffled().take(50_000).forEach { source[it] = -it }
+        val tree = WhiteGreyBlackTree<Int, Int>()
+
+        tree.putAll(source)
+
+        assertEquals(source.size, tree.size)
+        assertEquals(source.toSortedMap().entries.toList(), tree.asc)
+        source.keys.take(100).forEach { assertEquals(-it, tree[it]) }
+
+        // Keys equal by compareTo but not by equals keep put semantics
+        val decimals = WhiteGreyBlackTree<BigDecimal, String>()
+        decimals.putAll(linkedMapOf(BigDecimal("1.0") to "a", BigDecimal("1.00") to "b", BigDecimal("2") to "c"))
+        assertEquals(2, decimals.size)
+        assertEquals(listOf(BigDecimal("1.0"), BigDecimal("2")), decimals.asc.map { it.key })
+    }
+
+    @ParameterizedTest
+    @EnumSource(WhiteGreyBlackTree.ConcurrencyMode::class)
+    fun test_lookup_allocates_nothing(mode: WhiteGreyBlackTree.ConcurrencyMode) {
+        val tree = WhiteGreyBlackTree<Int, Int>(mode)
+        // Nullable so Kotlin keeps the keys boxed instead of re-boxing them on every call
+        val keys = (0 until 10_000).map<Int, Int?> { it * 7 }.shuffled().toTypedArray()
+        keys.forEach { tree[it] = it }
+        val missing = keys.map<Int?, Int?> { it!! + 1 }.toTypedArray()
+        val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        var found = 0
+        var allocated = 0L
+
+        repeat(20) {
+            found = 0
+            val before = threads.getThreadAllocatedBytes(Thread.currentThread().id)
+            for (key in keys) {
+                if (tree[key] != null && tree.containsKey(key)) found++
+            }
+            for (key in missing) {
+                if (tree[key] != null || tree.containsKey(key)) found--
+            }
+            allocated = threads.getThreadAllocatedBytes(Thread.currentThread().id) - before
+        }
+
+        assertEquals(keys.size, found)
+        assertTrue(allocated < 4 * keys.size, "$allocated bytes allocated")
+    }
+
+    @Test
+    fun test_forEach_int() {
+        val tree = WhiteGreyBlackTree<Int, Int>()
+        (0 until 1_000).shuffled().forEach { tree[it] = it * 2 }
+
+        val keys = mutableListOf<Int>()
+        tree.forEach { key, value ->
+            assertEquals(key * 2, value)
+            keys += key
+        }
+
+        assertEquals((0 until 1_000).toList(), keys)
+        assertEquals((0 until 1_000).toList(), tree.asc.map { it.key })
+        assertEquals((999 downTo 0).toList(), tree.desc.map { it.key })
+    }
+
     private fun minDepth(n: Int): Int {
         (1..n).forEach { i ->
             if (i.toDouble().pow(i / 2) > n) {